@@ -1,6 +1,10 @@
 package com.chapter4;
 
 import com.common.Dish;
+import com.common.DishSchema;
+import com.common.DishTable;
+import com.common.PredicateCompiler;
+import com.common.TopN;
 
 import java.util.*;
 
@@ -57,5 +61,29 @@ public class Main {
                     .limit(3)
                     .collect(toList());
 
+        List<String> names3 =
+                menu.stream()
+                    .filter(PredicateCompiler.compile(DishSchema.INSTANCE, "calories > 300 && !vegetarian"))
+                    .map(Dish::getName)
+                    .collect(toList());
+
+        List<String> threeLowestCaloricNames =
+                menu.stream()
+                    .filter(d -> d.getCalories() < 400)
+                    .collect(TopN.topNByInt(3, Dish::getCalories))
+                    .stream()
+                    .map(Dish::getName)
+                    .collect(toList());
+
+        List<Dish> threeMostCaloric = menu.stream()
+                .collect(TopN.topN(3, comparing(Dish::getCalories).reversed()));
+
+        DishTable table = DishTable.of(menu);
+        List<String> lowCaloricDishesName3 =
+                table.names(table.sortByCalories(table.filterByCalories(calories -> calories < 400)));
+
+        List<String> names2 =
+                table.names(table.limit(table.filterByCalories(calories -> calories > 300), 3));
+
     }
 }
@@ -0,0 +1,100 @@
+package com.chapter5;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class ByteWordSet {
+    private static final int INITIAL_SLOTS = 1 << 10;
+
+    private byte[] arena = new byte[1 << 12];
+    private int arenaSize;
+    private int[] slots = new int[INITIAL_SLOTS];
+    private int[] offsets = new int[INITIAL_SLOTS / 2];
+    private int[] lengths = new int[INITIAL_SLOTS / 2];
+    private int[] hashes = new int[INITIAL_SLOTS / 2];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean add(ByteBuffer buffer, int from, int to) {
+        int hash = hash(buffer, from, to);
+        int mask = slots.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot] - 1;
+            if (entry < 0) {
+                slots[slot] = insert(buffer, from, to, hash) + 1;
+                if (size * 2 > slots.length) {
+                    rehash();
+                }
+                return true;
+            }
+            if (hashes[entry] == hash && matches(entry, buffer, from, to)) {
+                return false;
+            }
+        }
+    }
+
+    public ByteWordSet merge(ByteWordSet other) {
+        if (other.size > size) {
+            return other.merge(this);
+        }
+        ByteBuffer words = ByteBuffer.wrap(other.arena);
+        for (int entry = 0; entry < other.size; entry++) {
+            add(words, other.offsets[entry], other.offsets[entry] + other.lengths[entry]);
+        }
+        return this;
+    }
+
+    private int insert(ByteBuffer buffer, int from, int to, int hash) {
+        int length = to - from;
+        if (arenaSize + length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + length));
+        }
+        for (int i = from; i < to; i++) {
+            arena[arenaSize++] = buffer.get(i);
+        }
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+            lengths = Arrays.copyOf(lengths, size * 2);
+            hashes = Arrays.copyOf(hashes, size * 2);
+        }
+        offsets[size] = arenaSize - length;
+        lengths[size] = length;
+        hashes[size] = hash;
+        return size++;
+    }
+
+    private boolean matches(int entry, ByteBuffer buffer, int from, int to) {
+        if (lengths[entry] != to - from) {
+            return false;
+        }
+        for (int i = from, j = offsets[entry]; i < to; i++, j++) {
+            if (buffer.get(i) != arena[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        int mask = slots.length - 1;
+        for (int entry = 0; entry < size; entry++) {
+            int slot = hashes[entry] & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = entry + 1;
+        }
+    }
+
+    private static int hash(ByteBuffer buffer, int from, int to) {
+        int h = 0;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + buffer.get(i);
+        }
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,76 @@
+package com.chapter5;
+
+public final class Delimiters {
+    public static final Delimiters WHITESPACE = new Delimiters(" \t\n\r\f\u000B", true);
+    public static final Delimiters PUNCTUATION = new Delimiters("!\"#$%&'()*+,-./:;<=>?@[\\]^_`{|}~", false);
+    public static final Delimiters SPACE = new Delimiters(" ", false);
+    // everything except Character.isLetterOrDigit, so tokens are the words WordFrequency counts
+    public static final Delimiters NON_WORD = nonWord();
+
+    private final long low;
+    private final long high;
+    private final boolean unicodeWhitespace;
+    private final boolean unicodeNonWord;
+
+    private Delimiters(long low, long high, boolean unicodeWhitespace, boolean unicodeNonWord) {
+        this.low = low;
+        this.high = high;
+        this.unicodeWhitespace = unicodeWhitespace;
+        this.unicodeNonWord = unicodeNonWord;
+    }
+
+    private Delimiters(String asciiChars, boolean unicodeWhitespace) {
+        long low = 0;
+        long high = 0;
+        for (int i = 0; i < asciiChars.length(); i++) {
+            char c = asciiChars.charAt(i);
+            if (c >= 128) {
+                throw new IllegalArgumentException("only ASCII delimiters are supported: " + c);
+            }
+            if (c < 64) {
+                low |= 1L << c;
+            } else {
+                high |= 1L << (c - 64);
+            }
+        }
+        this.low = low;
+        this.high = high;
+        this.unicodeWhitespace = unicodeWhitespace;
+        this.unicodeNonWord = false;
+    }
+
+    private static Delimiters nonWord() {
+        long low = 0;
+        long high = 0;
+        for (char c = 0; c < 128; c++) {
+            if (Character.isLetterOrDigit(c)) {
+                continue;
+            }
+            if (c < 64) {
+                low |= 1L << c;
+            } else {
+                high |= 1L << (c - 64);
+            }
+        }
+        return new Delimiters(low, high, false, true);
+    }
+
+    public static Delimiters of(String asciiChars) {
+        return new Delimiters(asciiChars, false);
+    }
+
+    public Delimiters or(Delimiters other) {
+        return new Delimiters(low | other.low, high | other.high,
+                unicodeWhitespace || other.unicodeWhitespace, unicodeNonWord || other.unicodeNonWord);
+    }
+
+    public boolean isDelimiter(int c) {
+        if (c < 64) {
+            return (low & (1L << c)) != 0;
+        }
+        if (c < 128) {
+            return (high & (1L << (c - 64))) != 0;
+        }
+        return (unicodeWhitespace && Character.isWhitespace(c)) || (unicodeNonWord && !Character.isLetterOrDigit(c));
+    }
+}
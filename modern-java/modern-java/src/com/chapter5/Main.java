@@ -87,6 +87,33 @@ public class Main {
         } catch (IOException e) {
         }
 
+        long tokenizedUniqueWords = 0;
+        try (Stream<String> lines = Files.lines(Paths.get("data.txt"), Charset.defaultCharset())) {
+            tokenizedUniqueWords = lines.flatMap(line -> Tokenizer.words(line, Delimiters.WHITESPACE))
+                                        .distinct()
+                                        .count();
+        } catch (IOException e) {
+        }
+
+        long approximateUniqueWords = 0;
+        try (Stream<String> lines = Files.lines(Paths.get("data.txt"), Charset.defaultCharset())) {
+            approximateUniqueWords = lines.flatMap(line -> Arrays.stream(line.split(" ")))
+                                          .collect(HyperLogLog.approximateDistinct(14));
+        } catch (IOException e) {
+        }
+
+        long mappedUniqueWords = 0;
+        try {
+            mappedUniqueWords = MappedWordCounter.countUniqueWords(Paths.get("data.txt"));
+        } catch (IOException e) {
+        }
+
+        List<Map.Entry<String, Integer>> topTerms = WordFrequency.topTerms(Paths.get("."), 10);
+
+        MarkdownIndex index = new MarkdownIndex(Paths.get("."));
+        index.refresh();
+        List<MarkdownIndex.Hit> hits = index.phrase("parallel stream");
+
         IntStream.iterate(0, n -> n < 100, n -> n + 4)
                 .forEach(System.out::println);
 
@@ -110,6 +137,8 @@ public class Main {
         long totalCalories = menu.stream().collect(summingInt(Dish::getCalories));
 
         menu.stream().map(Dish::getName).collect(Collectors.joining());
+
+        MenuStatistics statistics = menu.stream().collect(MenuStatistics.summarizing(3, ""));
         
     }
 }
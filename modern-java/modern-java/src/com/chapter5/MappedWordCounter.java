@@ -0,0 +1,99 @@
+package com.chapter5;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+public class MappedWordCounter {
+    private static final long MAX_RANGE = 1L << 30;
+    private static final int PROBE_SIZE = 256;
+
+    private MappedWordCounter() {}
+
+    public static long countUniqueWords(Path path) throws IOException {
+        return uniqueWords(path, Runtime.getRuntime().availableProcessors()).size();
+    }
+
+    public static ByteWordSet uniqueWords(Path path, int parallelism) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] bounds = split(channel, parallelism);
+            try {
+                return IntStream.range(0, bounds.length - 1)
+                        .parallel()
+                        .mapToObj(i -> collect(channel, bounds[i], bounds[i + 1]))
+                        .reduce(ByteWordSet::merge)
+                        .orElseGet(ByteWordSet::new);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    // every range after the first starts right after a whitespace byte, so no word straddles two ranges
+    private static long[] split(FileChannel channel, int parallelism) throws IOException {
+        long size = channel.size();
+        int ranges = (int) Math.max(Math.max(1, parallelism), (size + MAX_RANGE - 1) / MAX_RANGE);
+        long[] bounds = new long[ranges + 1];
+        bounds[ranges] = size;
+        ByteBuffer probe = ByteBuffer.allocate(PROBE_SIZE);
+        for (int i = 1; i < ranges; i++) {
+            long position = Math.max(bounds[i - 1], size / ranges * i);
+            bounds[i] = nextWordStart(channel, position, probe);
+        }
+        return bounds;
+    }
+
+    private static long nextWordStart(FileChannel channel, long position, ByteBuffer probe) throws IOException {
+        while (true) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (isWhitespace(probe.get(i))) {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+    }
+
+    private static ByteWordSet collect(FileChannel channel, long from, long to) {
+        ByteWordSet words = new ByteWordSet();
+        if (from >= to) {
+            return words;
+        }
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int limit = buffer.limit();
+        int start = -1;
+        for (int i = 0; i < limit; i++) {
+            if (isWhitespace(buffer.get(i))) {
+                if (start >= 0) {
+                    words.add(buffer, start, i);
+                    start = -1;
+                }
+            } else if (start < 0) {
+                start = i;
+            }
+        }
+        if (start >= 0) {
+            words.add(buffer, start, limit);
+        }
+        return words;
+    }
+
+    static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f';
+    }
+}
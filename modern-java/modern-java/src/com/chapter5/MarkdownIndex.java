@@ -0,0 +1,391 @@
+package com.chapter5;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static java.util.stream.Collectors.*;
+
+// term -> (document id -> delta/varint encoded line numbers). refresh() only re-reads files whose
+// mtime or size changed, and only re-indexes those whose content checksum changed
+public class MarkdownIndex {
+    private final Path root;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Path, Document> documentsByPath = new HashMap<>();
+    private final Map<Integer, Document> documentsById = new HashMap<>();
+    private final Map<String, Map<Integer, byte[]>> postings = new HashMap<>();
+    private int nextId;
+
+    public MarkdownIndex(Path root) {
+        this.root = root;
+    }
+
+    public int refresh() throws IOException {
+        Map<Path, FileStamp> stamps;
+        try (Stream<Path> paths = Files.walk(root)) {
+            stamps = paths.filter(path -> path.toString().endsWith(".md"))
+                          .filter(Files::isRegularFile)
+                          .collect(toMap(path -> path, MarkdownIndex::stamp));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        List<Path> candidates;
+        lock.readLock().lock();
+        try {
+            candidates = stamps.entrySet().stream()
+                    .filter(entry -> {
+                        Document document = documentsByPath.get(entry.getKey());
+                        return document == null || !document.stamp.equals(entry.getValue());
+                    })
+                    .map(Map.Entry::getKey)
+                    .collect(toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<ParsedFile> parsed;
+        try {
+            parsed = candidates.parallelStream()
+                    .map(path -> parse(path, stamps.get(path)))
+                    .collect(toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        lock.writeLock().lock();
+        try {
+            int changed = 0;
+            for (Path removed : new ArrayList<>(documentsByPath.keySet())) {
+                if (!stamps.containsKey(removed)) {
+                    remove(documentsByPath.get(removed));
+                    changed++;
+                }
+            }
+            for (ParsedFile file : parsed) {
+                Document previous = documentsByPath.get(file.path);
+                if (previous != null && previous.checksum == file.checksum) {
+                    previous.stamp = file.stamp;
+                    continue;
+                }
+                if (previous != null) {
+                    remove(previous);
+                }
+                add(file);
+                changed++;
+            }
+            return changed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Hit> and(String... terms) {
+        lock.readLock().lock();
+        try {
+            return toHits(matchAll(normalize(terms)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Hit> or(String... terms) {
+        lock.readLock().lock();
+        try {
+            Map<Integer, int[]> lines = new HashMap<>();
+            for (String term : new HashSet<>(normalize(terms))) {
+                postings.getOrDefault(term, Collections.emptyMap())
+                        .forEach((id, encoded) -> lines.merge(id, PostingCodec.decode(encoded), MarkdownIndex::union));
+            }
+            return toHits(lines);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Hit> phrase(String phrase) {
+        List<String> words = words(phrase);
+        lock.readLock().lock();
+        try {
+            Map<Integer, int[]> candidates = matchAll(words);
+            Map<Integer, int[]> matches = new HashMap<>();
+            candidates.forEach((id, lines) -> {
+                String[] text = documentsById.get(id).lines;
+                int[] matching = Arrays.stream(lines)
+                        .filter(line -> containsSequence(words(text[line]), words))
+                        .toArray();
+                if (matching.length > 0) {
+                    matches.put(id, matching);
+                }
+            });
+            return toHits(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return documentsByPath.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Integer, int[]> matchAll(List<String> terms) {
+        if (terms.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Map<Integer, byte[]>> lists = new ArrayList<>();
+        for (String term : new HashSet<>(terms)) {
+            Map<Integer, byte[]> list = postings.get(term);
+            if (list == null) {
+                return Collections.emptyMap();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Map::size));
+        Map<Integer, int[]> result = new HashMap<>();
+        for (Map.Entry<Integer, byte[]> entry : lists.get(0).entrySet()) {
+            int[] lines = PostingCodec.decode(entry.getValue());
+            for (int i = 1; i < lists.size() && lines.length > 0; i++) {
+                byte[] other = lists.get(i).get(entry.getKey());
+                lines = other == null ? new int[0] : intersect(lines, PostingCodec.decode(other));
+            }
+            if (lines.length > 0) {
+                result.put(entry.getKey(), lines);
+            }
+        }
+        return result;
+    }
+
+    private List<Hit> toHits(Map<Integer, int[]> linesById) {
+        return linesById.entrySet().stream()
+                .flatMap(entry -> {
+                    Document document = documentsById.get(entry.getKey());
+                    return Arrays.stream(entry.getValue())
+                                 .mapToObj(line -> new Hit(document.path, line + 1, document.lines[line]));
+                })
+                .sorted(Comparator.comparing(Hit::getPath).thenComparingInt(Hit::getLine))
+                .collect(toList());
+    }
+
+    private void add(ParsedFile file) {
+        Document document = new Document(nextId++, file.path, file.stamp, file.checksum, file.lines,
+                file.postings.keySet());
+        documentsByPath.put(file.path, document);
+        documentsById.put(document.id, document);
+        file.postings.forEach((term, encoded) ->
+                postings.computeIfAbsent(term, t -> new TreeMap<>()).put(document.id, encoded));
+    }
+
+    private void remove(Document document) {
+        documentsByPath.remove(document.path);
+        documentsById.remove(document.id);
+        for (String term : document.terms) {
+            Map<Integer, byte[]> list = postings.get(term);
+            list.remove(document.id);
+            if (list.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static ParsedFile parse(Path path, FileStamp stamp) {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        String[] lines = new String(bytes, StandardCharsets.UTF_8).split("\r?\n", -1);
+        Map<String, byte[]> postings = IntStream.range(0, lines.length).boxed()
+                .flatMap(line -> words(lines[line]).stream().distinct().map(word -> Map.entry(word, line)))
+                .collect(groupingBy(Map.Entry::getKey,
+                        collectingAndThen(mapping(Map.Entry::getValue, toList()), MarkdownIndex::encode)));
+        return new ParsedFile(path, stamp, crc.getValue(), lines, postings);
+    }
+
+    private static byte[] encode(List<Integer> lines) {
+        int[] sorted = lines.stream().mapToInt(Integer::intValue).toArray();
+        return PostingCodec.encode(sorted, sorted.length);
+    }
+
+    private static FileStamp stamp(Path path) {
+        try {
+            return new FileStamp(Files.getLastModifiedTime(path).toMillis(), Files.size(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<String> normalize(String... terms) {
+        return Arrays.stream(terms)
+                     .flatMap(term -> words(term).stream())
+                     .collect(Collectors.toList());
+    }
+
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        WordFrequency.forEachWord(text, (source, from, to) -> words.add(WordFrequency.normalize(source, from, to)));
+        return words;
+    }
+
+    private static boolean containsSequence(List<String> words, List<String> sequence) {
+        return !sequence.isEmpty() && Collections.indexOfSubList(words, sequence) >= 0;
+    }
+
+    private static int[] intersect(int[] left, int[] right) {
+        int[] result = new int[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[count++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static int[] union(int[] left, int[] right) {
+        int[] result = new int[left.length + right.length];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < left.length || j < right.length) {
+            if (j == right.length || (i < left.length && left[i] < right[j])) {
+                result[count++] = left[i++];
+            } else if (i == left.length || right[j] < left[i]) {
+                result[count++] = right[j++];
+            } else {
+                result[count++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    public static final class Hit {
+        private final Path path;
+        private final int line;
+        private final String text;
+
+        private Hit(Path path, int line, String text) {
+            this.path = path;
+            this.line = line;
+            this.text = text;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public String toString() {
+            return path + ":" + line + ": " + text;
+        }
+    }
+
+    private static final class FileStamp {
+        private final long modifiedMillis;
+        private final long size;
+
+        FileStamp(long modifiedMillis, long size) {
+            this.modifiedMillis = modifiedMillis;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof FileStamp)) return false;
+            FileStamp other = (FileStamp) o;
+            return modifiedMillis == other.modifiedMillis && size == other.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(modifiedMillis) * 31 + Long.hashCode(size);
+        }
+    }
+
+    private static final class ParsedFile {
+        private final Path path;
+        private final FileStamp stamp;
+        private final long checksum;
+        private final String[] lines;
+        private final Map<String, byte[]> postings;
+
+        ParsedFile(Path path, FileStamp stamp, long checksum, String[] lines, Map<String, byte[]> postings) {
+            this.path = path;
+            this.stamp = stamp;
+            this.checksum = checksum;
+            this.lines = lines;
+            this.postings = postings;
+        }
+    }
+
+    private static final class Document {
+        private final int id;
+        private final Path path;
+        private FileStamp stamp;
+        private final long checksum;
+        private final String[] lines;
+        private final Set<String> terms;
+
+        Document(int id, Path path, FileStamp stamp, long checksum, String[] lines, Set<String> terms) {
+            this.id = id;
+            this.path = path;
+            this.stamp = stamp;
+            this.checksum = checksum;
+            this.lines = lines;
+            this.terms = terms;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.chapter5;
+
+import com.common.Dish;
+import com.common.TopN;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.stream.Collector;
+
+public final class MenuStatistics {
+    private static final Comparator<Dish> BY_CALORIES = Comparator.comparingInt(Dish::getCalories);
+
+    private final long count;
+    private final long totalCalories;
+    private final Dish leastCaloric;
+    private final Dish mostCaloric;
+    private final List<Dish> topCaloric;
+    private final String names;
+
+    private MenuStatistics(long count, long totalCalories, Dish leastCaloric, Dish mostCaloric,
+                           List<Dish> topCaloric, String names) {
+        this.count = count;
+        this.totalCalories = totalCalories;
+        this.leastCaloric = leastCaloric;
+        this.mostCaloric = mostCaloric;
+        this.topCaloric = topCaloric;
+        this.names = names;
+    }
+
+    public static Collector<Dish, ?, MenuStatistics> summarizing(int topN, CharSequence delimiter) {
+        if (topN < 0) {
+            throw new IllegalArgumentException("topN: " + topN);
+        }
+        return summarizing(TopN.topN(topN, BY_CALORIES.reversed()), delimiter);
+    }
+
+    // topCaloric reuses TopN's selection, so calorie ties keep encounter order, parallel or not
+    private static <A> Collector<Dish, ?, MenuStatistics> summarizing(Collector<Dish, A, List<Dish>> top,
+                                                                    CharSequence delimiter) {
+        return Collector.of(
+                () -> new Accumulator<>(top, delimiter),
+                Accumulator::accept,
+                Accumulator::combine,
+                Accumulator::finish);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalCalories() {
+        return totalCalories;
+    }
+
+    public double getAverageCalories() {
+        return count == 0 ? 0.0 : (double) totalCalories / count;
+    }
+
+    public Optional<Dish> getLeastCaloric() {
+        return Optional.ofNullable(leastCaloric);
+    }
+
+    public Optional<Dish> getMostCaloric() {
+        return Optional.ofNullable(mostCaloric);
+    }
+
+    public List<Dish> getTopCaloric() {
+        return topCaloric;
+    }
+
+    public String getNames() {
+        return names;
+    }
+
+    @Override
+    public String toString() {
+        return "MenuStatistics{" +
+                "count=" + count +
+                ", totalCalories=" + totalCalories +
+                ", averageCalories=" + getAverageCalories() +
+                ", leastCaloric=" + leastCaloric +
+                ", mostCaloric=" + mostCaloric +
+                ", topCaloric=" + topCaloric +
+                ", names='" + names + '\'' +
+                '}';
+    }
+
+    private static class Accumulator<A> {
+        private final Collector<Dish, A, List<Dish>> topCollector;
+        private A top;
+        private StringJoiner names;
+        private long count;
+        private long totalCalories;
+        private Dish leastCaloric;
+        private Dish mostCaloric;
+
+        Accumulator(Collector<Dish, A, List<Dish>> topCollector, CharSequence delimiter) {
+            this.topCollector = topCollector;
+            this.top = topCollector.supplier().get();
+            this.names = new StringJoiner(delimiter);
+        }
+
+        void accept(Dish dish) {
+            int calories = dish.getCalories();
+            count++;
+            totalCalories += calories;
+            if (leastCaloric == null || calories < leastCaloric.getCalories()) {
+                leastCaloric = dish;
+            }
+            if (mostCaloric == null || calories > mostCaloric.getCalories()) {
+                mostCaloric = dish;
+            }
+            topCollector.accumulator().accept(top, dish);
+            names.add(dish.getName());
+        }
+
+        Accumulator<A> combine(Accumulator<A> other) {
+            count += other.count;
+            totalCalories += other.totalCalories;
+            if (other.leastCaloric != null
+                    && (leastCaloric == null || other.leastCaloric.getCalories() < leastCaloric.getCalories())) {
+                leastCaloric = other.leastCaloric;
+            }
+            if (other.mostCaloric != null
+                    && (mostCaloric == null || other.mostCaloric.getCalories() > mostCaloric.getCalories())) {
+                mostCaloric = other.mostCaloric;
+            }
+            top = topCollector.combiner().apply(top, other.top);
+            names = names.merge(other.names);
+            return this;
+        }
+
+        MenuStatistics finish() {
+            return new MenuStatistics(count, totalCalories, leastCaloric, mostCaloric,
+                    Collections.unmodifiableList(topCollector.finisher().apply(top)), names.toString());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.chapter5;
+
+import java.io.ByteArrayOutputStream;
+
+// sorted ints as [count, first, gap, gap, ...], each a 7-bit varint
+final class PostingCodec {
+
+    private PostingCodec() {}
+
+    static byte[] encode(int[] sorted, int length) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length + 1);
+        writeVarint(out, length);
+        int previous = 0;
+        for (int i = 0; i < length; i++) {
+            writeVarint(out, sorted[i] - previous);
+            previous = sorted[i];
+        }
+        return out.toByteArray();
+    }
+
+    static int[] decode(byte[] bytes) {
+        int[] position = {0};
+        int length = readVarint(bytes, position);
+        int[] values = new int[length];
+        int previous = 0;
+        for (int i = 0; i < length; i++) {
+            previous += readVarint(bytes, position);
+            values[i] = previous;
+        }
+        return values;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(byte[] bytes, int[] position) {
+        int value = 0;
+        int shift = 0;
+        while (true) {
+            byte b = bytes[position[0]++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.chapter5;
+
+import java.nio.ByteBuffer;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+
+// yields each token as (offset << 32 | length) so a stream of tokens allocates nothing per token
+public class TokenSpliterator implements Spliterator.OfLong {
+    private static final int MIN_SPLIT_SIZE = 1 << 12;
+
+    private final Source source;
+    private final Delimiters delimiters;
+    private int position;
+    private final int end;
+
+    public TokenSpliterator(CharSequence text, Delimiters delimiters) {
+        this(new CharSequenceSource(text), delimiters, 0, text.length());
+    }
+
+    // bytes are read as ISO-8859-1, so for UTF-8 input only ASCII delimiters split tokens
+    public TokenSpliterator(ByteBuffer bytes, Delimiters delimiters) {
+        this(new ByteBufferSource(bytes), delimiters, bytes.position(), bytes.limit());
+    }
+
+    private TokenSpliterator(Source source, Delimiters delimiters, int position, int end) {
+        this.source = source;
+        this.delimiters = delimiters;
+        this.position = position;
+        this.end = end;
+    }
+
+    public static int offset(long token) {
+        return (int) (token >>> 32);
+    }
+
+    public static int length(long token) {
+        return (int) token;
+    }
+
+    @Override
+    public boolean tryAdvance(LongConsumer action) {
+        while (position < end && delimiters.isDelimiter(source.charAt(position))) {
+            position++;
+        }
+        if (position == end) {
+            return false;
+        }
+        int start = position;
+        while (position < end && !delimiters.isDelimiter(source.charAt(position))) {
+            position++;
+        }
+        action.accept(((long) start << 32) | (position - start));
+        return true;
+    }
+
+    @Override
+    public Spliterator.OfLong trySplit() {
+        int remaining = end - position;
+        if (remaining < MIN_SPLIT_SIZE) {
+            return null;
+        }
+        for (int split = position + remaining / 2; split < end; split++) {
+            if (delimiters.isDelimiter(source.charAt(split))) {
+                TokenSpliterator prefix = new TokenSpliterator(source, delimiters, position, split);
+                position = split;
+                return prefix;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return end - position;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+
+    private interface Source {
+        int charAt(int index);
+    }
+
+    private static final class CharSequenceSource implements Source {
+        private final CharSequence text;
+
+        CharSequenceSource(CharSequence text) {
+            this.text = text;
+        }
+
+        @Override
+        public int charAt(int index) {
+            return text.charAt(index);
+        }
+    }
+
+    private static final class ByteBufferSource implements Source {
+        private final ByteBuffer bytes;
+
+        ByteBufferSource(ByteBuffer bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int charAt(int index) {
+            return bytes.get(index) & 0xFF;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.chapter5;
+
+import java.nio.ByteBuffer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public final class Tokenizer {
+
+    private Tokenizer() {}
+
+    public static LongStream tokens(CharSequence text, Delimiters delimiters) {
+        return StreamSupport.longStream(new TokenSpliterator(text, delimiters), false);
+    }
+
+    public static LongStream tokens(ByteBuffer bytes, Delimiters delimiters) {
+        return StreamSupport.longStream(new TokenSpliterator(bytes, delimiters), false);
+    }
+
+    // drop-in for Arrays.stream(line.split(" ")) in flatMap: no String[] and no regex, empty tokens skipped
+    public static Stream<String> words(String line, Delimiters delimiters) {
+        return tokens(line, delimiters)
+                .mapToObj(token -> line.substring(TokenSpliterator.offset(token),
+                        TokenSpliterator.offset(token) + TokenSpliterator.length(token)));
+    }
+
+    public static long countTokens(CharSequence text, Delimiters delimiters) {
+        return tokens(text, delimiters).count();
+    }
+}
@@ -0,0 +1,132 @@
+package com.chapter5;
+
+import java.util.function.ObjIntConsumer;
+
+// String -> int counts with open addressing; a key String is only created the first time a word is seen
+public class WordCountMap {
+    private String[] keys = new String[1 << 10];
+    private int[] hashes = new int[1 << 10];
+    private int[] counts = new int[1 << 10];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    // counts text[from, to) lower-cased
+    public void increment(CharSequence text, int from, int to) {
+        int hash = hash(text, from, to);
+        int mask = keys.length - 1;
+        int slot = hash & mask;
+        while (keys[slot] != null) {
+            if (hashes[slot] == hash && matches(keys[slot], text, from, to)) {
+                counts[slot]++;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = WordFrequency.normalize(text, from, to);
+        hashes[slot] = hash;
+        counts[slot] = 1;
+        if (++size * 2 > keys.length) {
+            rehash();
+        }
+    }
+
+    public int get(String word) {
+        int hash = hash(word, 0, word.length());
+        int mask = keys.length - 1;
+        for (int slot = hash & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && matches(keys[slot], word, 0, word.length())) {
+                return counts[slot];
+            }
+        }
+        return 0;
+    }
+
+    public WordCountMap merge(WordCountMap other) {
+        if (other.size > size) {
+            return other.merge(this);
+        }
+        for (int slot = 0; slot < other.keys.length; slot++) {
+            if (other.keys[slot] != null) {
+                add(other.keys[slot], other.hashes[slot], other.counts[slot]);
+            }
+        }
+        return this;
+    }
+
+    public void forEach(ObjIntConsumer<String> action) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != null) {
+                action.accept(keys[slot], counts[slot]);
+            }
+        }
+    }
+
+    private void add(String key, int hash, int count) {
+        int mask = keys.length - 1;
+        int slot = hash & mask;
+        while (keys[slot] != null) {
+            if (hashes[slot] == hash && keys[slot].equals(key)) {
+                counts[slot] += count;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        hashes[slot] = hash;
+        counts[slot] = count;
+        if (++size * 2 > keys.length) {
+            rehash();
+        }
+    }
+
+    private void rehash() {
+        String[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        int[] oldCounts = counts;
+        keys = new String[oldKeys.length * 2];
+        hashes = new int[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = oldHashes[i] & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                hashes[slot] = oldHashes[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private static boolean matches(String key, CharSequence text, int from, int to) {
+        if (key.length() != to - from) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) != WordFrequency.fold(text.charAt(from + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(CharSequence text, int from, int to) {
+        int h = 0;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + WordFrequency.fold(text.charAt(i));
+        }
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((key, count) -> sb.append(sb.length() > 1 ? ", " : "").append(key).append('=').append(count));
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,183 @@
+package com.chapter5;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// a word is a run of letters or digits (Hangul syllables included); case is folded with Character.toLowerCase.
+// words are the tokens of TokenSpliterator over Delimiters.NON_WORD, and WordCountMap and MarkdownIndex
+// both go through forEachWord/fold/normalize below, so the two engines always agree on what a term is
+public final class WordFrequency {
+
+    interface WordSink {
+        void accept(CharSequence text, int from, int to);
+    }
+
+    private WordFrequency() {}
+
+    public static List<Map.Entry<String, Integer>> topTerms(Path root, int k) throws IOException {
+        return topTerms(count(root), k);
+    }
+
+    // most frequent first, ties in WordCountMap iteration order; only the k kept terms become entries
+    public static List<Map.Entry<String, Integer>> topTerms(WordCountMap counts, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k: " + k);
+        }
+        TermHeap heap = new TermHeap(Math.min(k, counts.size()));
+        counts.forEach(heap::offer);
+        return heap.toSortedList();
+    }
+
+    public static WordCountMap count(Path root) throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(root)) {
+            files = paths.filter(path -> path.toString().endsWith(".md"))
+                         .filter(Files::isRegularFile)
+                         .collect(Collectors.toList());
+        }
+        try {
+            return files.parallelStream()
+                        .map(WordFrequency::countFile)
+                        .reduce(WordCountMap::merge)
+                        .orElseGet(WordCountMap::new);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public static WordCountMap count(List<? extends CharSequence> texts) {
+        return texts.parallelStream()
+                    .map(text -> count(text, new WordCountMap()))
+                    .reduce(WordCountMap::merge)
+                    .orElseGet(WordCountMap::new);
+    }
+
+    private static WordCountMap countFile(Path file) {
+        try {
+            return count(Files.readString(file, StandardCharsets.UTF_8), new WordCountMap());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // per-char folding keeps every term the same length as its source range
+    static char fold(char c) {
+        return Character.toLowerCase(c);
+    }
+
+    static String normalize(CharSequence text, int from, int to) {
+        char[] chars = new char[to - from];
+        for (int i = from; i < to; i++) {
+            chars[i - from] = fold(text.charAt(i));
+        }
+        return new String(chars);
+    }
+
+    static void forEachWord(CharSequence text, WordSink sink) {
+        new TokenSpliterator(text, Delimiters.NON_WORD).forEachRemaining((long token) -> {
+            int from = TokenSpliterator.offset(token);
+            sink.accept(text, from, from + TokenSpliterator.length(token));
+        });
+    }
+
+    public static WordCountMap count(CharSequence text, WordCountMap counts) {
+        forEachWord(text, counts::increment);
+        return counts;
+    }
+
+    // heap of the k best (count, sequence) pairs in parallel arrays; the root is the one to evict next
+    private static final class TermHeap {
+        private final String[] words;
+        private final int[] counts;
+        private final long[] sequences;
+        private int size;
+        private long count;
+
+        TermHeap(int k) {
+            this.words = new String[k];
+            this.counts = new int[k];
+            this.sequences = new long[k];
+        }
+
+        void offer(String word, int wordCount) {
+            long sequence = count++;
+            if (size < words.length) {
+                set(size, word, wordCount, sequence);
+                siftUp(size++);
+            } else if (size > 0 && worse(0, wordCount, sequence)) {
+                set(0, word, wordCount, sequence);
+                siftDown(0, size);
+            }
+        }
+
+        // in-place heap sort, best term first
+        List<Map.Entry<String, Integer>> toSortedList() {
+            for (int end = size - 1; end > 0; end--) {
+                swap(0, end);
+                siftDown(0, end);
+            }
+            List<Map.Entry<String, Integer>> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(Map.entry(words[i], counts[i]));
+            }
+            return result;
+        }
+
+        // whether slot i ranks after the (wordCount, sequence) pair
+        private boolean worse(int i, int wordCount, long sequence) {
+            return counts[i] != wordCount ? counts[i] < wordCount : sequences[i] > sequence;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!worse(i, counts[parent], sequences[parent])) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i, int end) {
+            while (true) {
+                int worst = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < end && worse(left, counts[worst], sequences[worst])) {
+                    worst = left;
+                }
+                if (right < end && worse(right, counts[worst], sequences[worst])) {
+                    worst = right;
+                }
+                if (worst == i) {
+                    return;
+                }
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void set(int i, String word, int wordCount, long sequence) {
+            words[i] = word;
+            counts[i] = wordCount;
+            sequences[i] = sequence;
+        }
+
+        private void swap(int i, int j) {
+            String word = words[i];
+            int wordCount = counts[i];
+            long sequence = sequences[i];
+            set(i, words[j], counts[j], sequences[j]);
+            set(j, word, wordCount, sequence);
+        }
+    }
+}
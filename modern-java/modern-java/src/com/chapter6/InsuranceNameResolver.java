@@ -0,0 +1,96 @@
+package com.chapter6;
+
+import com.chapter6.Main.Car;
+import com.chapter6.Main.Insurance;
+import com.chapter6.Main.Person;
+import com.common.NameDictionary;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+// same result as Main.getCarInsuranceNames, without a Stream stage or new Optional per person
+public class InsuranceNameResolver {
+    private static final int CHUNK_SIZE = 1 << 14;
+
+    private InsuranceNameResolver() {}
+
+    public static String insuranceName(Person person) {
+        Optional<Car> car = person.getCar();
+        if (car == null || car.isEmpty()) {
+            return null;
+        }
+        Optional<Insurance> insurance = car.get().getInsurance();
+        if (insurance == null || insurance.isEmpty()) {
+            return null;
+        }
+        return insurance.get().getName();
+    }
+
+    // one bit per distinct name instead of a HashSet entry; ids come from the caller's dictionary,
+    // which maps them back to names and is released with it
+    public static BitSet resolveNameIds(List<Person> persons, NameDictionary names) {
+        if (!(persons instanceof RandomAccess)) {
+            return resolveNameIds(new ArrayList<>(persons), names);
+        }
+        int chunks = (persons.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> resolveIdChunk(persons, names, chunk * CHUNK_SIZE,
+                        Math.min(persons.size(), (chunk + 1) * CHUNK_SIZE)))
+                .reduce((left, right) -> {
+                    left.or(right);
+                    return left;
+                })
+                .orElseGet(BitSet::new);
+    }
+
+    public static Set<String> resolveNames(List<Person> persons) {
+        if (!(persons instanceof RandomAccess)) {
+            return resolveNames(new ArrayList<>(persons));
+        }
+        int chunks = (persons.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> resolveChunk(persons, chunk * CHUNK_SIZE,
+                        Math.min(persons.size(), (chunk + 1) * CHUNK_SIZE)))
+                .reduce(InsuranceNameResolver::mergeSets)
+                .orElseGet(HashSet::new);
+    }
+
+    private static Set<String> resolveChunk(List<Person> persons, int from, int to) {
+        Set<String> names = new HashSet<>();
+        for (int i = from; i < to; i++) {
+            String name = insuranceName(persons.get(i));
+            if (name != null) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    private static BitSet resolveIdChunk(List<Person> persons, NameDictionary names, int from, int to) {
+        BitSet ids = new BitSet();
+        for (int i = from; i < to; i++) {
+            int id = names.intern(insuranceName(persons.get(i)));
+            if (id != NameDictionary.NULL_ID) {
+                ids.set(id);
+            }
+        }
+        return ids;
+    }
+
+    private static Set<String> mergeSets(Set<String> left, Set<String> right) {
+        if (left.size() < right.size()) {
+            right.addAll(left);
+            return right;
+        }
+        left.addAll(right);
+        return left;
+    }
+}
@@ -0,0 +1,195 @@
+package com.chapter6;
+
+import com.common.Dish;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// writers are serialized and publish a new immutable Snapshot through one volatile field; readers never lock.
+// groups are persistent trees, so a change copies O(log n) nodes and the new snapshot shares the rest
+public class LiveMenu {
+    private static final Dish.Type[] TYPES = Dish.Type.values();
+    private static final Comparator<Dish> BY_CALORIES_THEN_NAME =
+            Comparator.comparingInt(Dish::getCalories).thenComparing(Dish::getName);
+    private static final Comparator<Dish> BY_NAME = Comparator.comparing(Dish::getName);
+
+    private final Map<String, Dish> dishesByName = new HashMap<>();
+    private volatile Snapshot snapshot = Snapshot.empty();
+
+    public synchronized void add(Dish dish) {
+        Dish previous = dishesByName.put(dish.getName(), dish);
+        Snapshot current = snapshot;
+        SortedTree<Dish>[] byType = current.byType.clone();
+        SortedTree<Dish>[] byVegetarian = current.byVegetarian.clone();
+        long[] totalCalories = current.totals.totalCalories.clone();
+        int[] counts = current.totals.counts.clone();
+        if (previous != null) {
+            unindex(previous, byType, byVegetarian, totalCalories, counts);
+        }
+        index(dish, byType, byVegetarian, totalCalories, counts);
+        snapshot = new Snapshot(byType, byVegetarian, new Totals(totalCalories, counts));
+    }
+
+    public void update(Dish dish) {
+        add(dish);
+    }
+
+    public synchronized boolean remove(String name) {
+        Dish previous = dishesByName.remove(name);
+        if (previous == null) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        SortedTree<Dish>[] byType = current.byType.clone();
+        SortedTree<Dish>[] byVegetarian = current.byVegetarian.clone();
+        long[] totalCalories = current.totals.totalCalories.clone();
+        int[] counts = current.totals.counts.clone();
+        unindex(previous, byType, byVegetarian, totalCalories, counts);
+        snapshot = new Snapshot(byType, byVegetarian, new Totals(totalCalories, counts));
+        return true;
+    }
+
+    private static void index(Dish dish, SortedTree<Dish>[] byType, SortedTree<Dish>[] byVegetarian,
+                              long[] totalCalories, int[] counts) {
+        int type = dish.getType().ordinal();
+        int vegetarian = dish.isVegetarian() ? 1 : 0;
+        byType[type] = byType[type].insert(dish, BY_CALORIES_THEN_NAME);
+        byVegetarian[vegetarian] = byVegetarian[vegetarian].insert(dish, BY_NAME);
+        totalCalories[type] += dish.getCalories();
+        counts[type]++;
+    }
+
+    private static void unindex(Dish dish, SortedTree<Dish>[] byType, SortedTree<Dish>[] byVegetarian,
+                                long[] totalCalories, int[] counts) {
+        int type = dish.getType().ordinal();
+        int vegetarian = dish.isVegetarian() ? 1 : 0;
+        byType[type] = byType[type].delete(dish, BY_CALORIES_THEN_NAME);
+        byVegetarian[vegetarian] = byVegetarian[vegetarian].delete(dish, BY_NAME);
+        totalCalories[type] -= dish.getCalories();
+        counts[type]--;
+    }
+
+    // one consistent view for several reads; the methods below each read the latest snapshot
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    public List<Dish> dishesOfType(Dish.Type type) {
+        return snapshot.dishesOfType(type);
+    }
+
+    public Map<Dish.Type, List<Dish>> groupedByType() {
+        return snapshot.groupedByType();
+    }
+
+    public List<Dish> caloricDishesOfType(Dish.Type type, int minCaloriesExclusive) {
+        return snapshot.caloricDishesOfType(type, minCaloriesExclusive);
+    }
+
+    public Map<Boolean, List<Dish>> partitionedByVegetarian() {
+        return snapshot.partitionedByVegetarian();
+    }
+
+    public Optional<Dish> mostCaloric(Dish.Type type) {
+        return snapshot.mostCaloric(type);
+    }
+
+    public Totals totals() {
+        return snapshot.totals;
+    }
+
+    // per-type trees are sorted by calories then name, the vegetarian partitions by name
+    public static final class Snapshot {
+        private final SortedTree<Dish>[] byType;
+        private final SortedTree<Dish>[] byVegetarian;
+        private final Totals totals;
+
+        private Snapshot(SortedTree<Dish>[] byType, SortedTree<Dish>[] byVegetarian, Totals totals) {
+            this.byType = byType;
+            this.byVegetarian = byVegetarian;
+            this.totals = totals;
+        }
+
+        private static Snapshot empty() {
+            return new Snapshot(emptyTrees(TYPES.length), emptyTrees(2),
+                    new Totals(new long[TYPES.length], new int[TYPES.length]));
+        }
+
+        @SuppressWarnings("unchecked")
+        private static SortedTree<Dish>[] emptyTrees(int length) {
+            SortedTree<Dish>[] trees = (SortedTree<Dish>[]) new SortedTree<?>[length];
+            Arrays.fill(trees, SortedTree.empty());
+            return trees;
+        }
+
+        public List<Dish> dishesOfType(Dish.Type type) {
+            return byType[type.ordinal()].asList();
+        }
+
+        public Map<Dish.Type, List<Dish>> groupedByType() {
+            Map<Dish.Type, List<Dish>> result = new EnumMap<>(Dish.Type.class);
+            for (Dish.Type type : TYPES) {
+                result.put(type, dishesOfType(type));
+            }
+            return result;
+        }
+
+        // one descent on calories alone for the first dish above the threshold
+        public List<Dish> caloricDishesOfType(Dish.Type type, int minCaloriesExclusive) {
+            SortedTree<Dish> dishes = byType[type.ordinal()];
+            int first = dishes.rankOfFirst(dish -> dish.getCalories() > minCaloriesExclusive);
+            return dishes.asList().subList(first, dishes.size());
+        }
+
+        public Map<Boolean, List<Dish>> partitionedByVegetarian() {
+            Map<Boolean, List<Dish>> result = new HashMap<>(4);
+            result.put(false, byVegetarian[0].asList());
+            result.put(true, byVegetarian[1].asList());
+            return result;
+        }
+
+        public Optional<Dish> mostCaloric(Dish.Type type) {
+            return Optional.ofNullable(byType[type.ordinal()].last());
+        }
+
+        public Totals totals() {
+            return totals;
+        }
+    }
+
+    public static final class Totals {
+        private final long[] totalCalories;
+        private final int[] counts;
+
+        private Totals(long[] totalCalories, int[] counts) {
+            this.totalCalories = totalCalories;
+            this.counts = counts;
+        }
+
+        public long totalCalories(Dish.Type type) {
+            return totalCalories[type.ordinal()];
+        }
+
+        public int count(Dish.Type type) {
+            return counts[type.ordinal()];
+        }
+
+        public Map<Dish.Type, Long> totalCaloriesByType() {
+            Map<Dish.Type, Long> result = new EnumMap<>(Dish.Type.class);
+            for (Dish.Type type : TYPES) {
+                result.put(type, totalCalories[type.ordinal()]);
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "Totals{" + totalCaloriesByType() + '}';
+        }
+    }
+}
@@ -71,6 +71,15 @@ public class Main {
                 .collect(groupingBy(Dish::getType,
                         summingInt(Dish::getCalories)));
 
+        Map<Dish.Type, Dish> mostCaloricByType2 = menu.stream()
+                .collect(TypeCollectors.maxByType(Dish::getCalories));
+        Map<Dish.Type, Long> totalCaloriesByType2 = menu.stream()
+                .collect(TypeCollectors.sumByType(Dish::getCalories));
+        Map<Dish.Type, Long> dishCountByType = menu.stream()
+                .collect(TypeCollectors.countByType());
+        Map<Boolean, Map<Dish.Type, Long>> vegetarianCountByType = menu.stream()
+                .collect(TypeCollectors.partitionAndCountByType(Dish::isVegetarian));
+
         Map<Dish.Type, Set<CaloricLevel>> caloricLevelsByType = menu.stream()
                 .collect(groupingBy(Dish::getType, mapping(dish -> {
                     if (dish.getCalories() <= 400) return CaloricLevel.DIET;
@@ -85,6 +94,13 @@ public class Main {
                                 groupingBy(Dish::getType)
                         ));
 
+        LiveMenu liveMenu = new LiveMenu();
+        menu.forEach(liveMenu::add);
+        liveMenu.update(new Dish("salmon", false, 650, Dish.Type.FISH));
+        liveMenu.remove("pizza");
+        System.out.println("caloricFish = " + liveMenu.caloricDishesOfType(Dish.Type.FISH, 500));
+        System.out.println("totals = " + liveMenu.totals());
+
         Person person = new Person();
         Optional<Person> optPerson = Optional.of(person);
 
@@ -122,6 +138,13 @@ public class Main {
     public static class Person {
         private Optional<Car> car;
 
+        public Person() {
+        }
+
+        public Person(Optional<Car> car) {
+            this.car = car;
+        }
+
         public Optional<Car> getCar() {
             return car;
         }
@@ -130,6 +153,13 @@ public class Main {
     public static class Car {
         private Optional<Insurance> insurance;
 
+        public Car() {
+        }
+
+        public Car(Optional<Insurance> insurance) {
+            this.insurance = insurance;
+        }
+
         public Optional<Insurance> getInsurance() {
             return insurance;
         }
@@ -138,6 +168,13 @@ public class Main {
     public static class Insurance {
         private String name;
 
+        public Insurance() {
+        }
+
+        public Insurance(String name) {
+            this.name = name;
+        }
+
         public String getName() {
             return name;
         }
@@ -0,0 +1,247 @@
+package com.chapter6;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+// persistent AVL tree with subtree sizes. insert and delete copy only the O(log n) nodes on the path
+// to the change, so every published version stays valid and shares all other nodes with the next one
+final class SortedTree<T> {
+    private static final SortedTree<?> EMPTY = new SortedTree<>(null);
+
+    private final Node<T> root;
+
+    private SortedTree(Node<T> root) {
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> SortedTree<T> empty() {
+        return (SortedTree<T>) EMPTY;
+    }
+
+    int size() {
+        return count(root);
+    }
+
+    SortedTree<T> insert(T value, Comparator<? super T> comparator) {
+        return new SortedTree<>(insert(root, value, comparator));
+    }
+
+    // value must be present
+    SortedTree<T> delete(T value, Comparator<? super T> comparator) {
+        return new SortedTree<>(delete(root, value, comparator));
+    }
+
+    T last() {
+        Node<T> node = root;
+        if (node == null) {
+            return null;
+        }
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node.value;
+    }
+
+    // how many elements come before the first one matching a predicate that is monotone in tree order
+    int rankOfFirst(Predicate<? super T> predicate) {
+        int rank = 0;
+        Node<T> node = root;
+        while (node != null) {
+            if (predicate.test(node.value)) {
+                node = node.left;
+            } else {
+                rank += count(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    List<T> asList() {
+        return new View<>(root, 0, count(root));
+    }
+
+    private static <T> Node<T> insert(Node<T> node, T value, Comparator<? super T> comparator) {
+        if (node == null) {
+            return new Node<>(value, null, null);
+        }
+        if (comparator.compare(value, node.value) < 0) {
+            return balance(node.value, insert(node.left, value, comparator), node.right);
+        }
+        return balance(node.value, node.left, insert(node.right, value, comparator));
+    }
+
+    private static <T> Node<T> delete(Node<T> node, T value, Comparator<? super T> comparator) {
+        if (node == null) {
+            throw new NoSuchElementException(String.valueOf(value));
+        }
+        int c = comparator.compare(value, node.value);
+        if (c < 0) {
+            return balance(node.value, delete(node.left, value, comparator), node.right);
+        }
+        if (c > 0) {
+            return balance(node.value, node.left, delete(node.right, value, comparator));
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node<T> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.value, node.left, deleteFirst(node.right));
+    }
+
+    private static <T> Node<T> deleteFirst(Node<T> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.value, deleteFirst(node.left), node.right);
+    }
+
+    private static <T> Node<T> balance(T value, Node<T> left, Node<T> right) {
+        int difference = height(left) - height(right);
+        if (difference > 1) {
+            if (height(left.left) < height(left.right)) {
+                left = rotateLeft(left.value, left.left, left.right);
+            }
+            return rotateRight(value, left, right);
+        }
+        if (difference < -1) {
+            if (height(right.right) < height(right.left)) {
+                right = rotateRight(right.value, right.left, right.right);
+            }
+            return rotateLeft(value, left, right);
+        }
+        return new Node<>(value, left, right);
+    }
+
+    private static <T> Node<T> rotateRight(T value, Node<T> left, Node<T> right) {
+        return new Node<>(left.value, left.left, new Node<>(value, left.right, right));
+    }
+
+    private static <T> Node<T> rotateLeft(T value, Node<T> left, Node<T> right) {
+        return new Node<>(right.value, new Node<>(value, left, right.left), right.right);
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int count(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node<T> {
+        final T value;
+        final Node<T> left;
+        final Node<T> right;
+        final int height;
+        final int size;
+
+        Node(T value, Node<T> left, Node<T> right) {
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = count(left) + count(right) + 1;
+        }
+    }
+
+    // unmodifiable list over ranks [from, to): get is O(log n), iteration O(log n + length)
+    private static final class View<T> extends AbstractList<T> {
+        private final Node<T> root;
+        private final int from;
+        private final int to;
+
+        View(Node<T> root, int from, int to) {
+            this.root = root;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("index: " + index + ", size: " + size());
+            }
+            int rank = from + index;
+            Node<T> node = root;
+            while (true) {
+                int leftSize = count(node.left);
+                if (rank < leftSize) {
+                    node = node.left;
+                } else if (rank == leftSize) {
+                    return node.value;
+                } else {
+                    rank -= leftSize + 1;
+                    node = node.right;
+                }
+            }
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public List<T> subList(int fromIndex, int toIndex) {
+            if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+                throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex);
+            }
+            return new View<>(root, from + fromIndex, from + toIndex);
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            Deque<Node<T>> path = new ArrayDeque<>();
+            int rank = from;
+            Node<T> node = from < to ? root : null;
+            while (node != null) {
+                int leftSize = count(node.left);
+                if (rank < leftSize) {
+                    path.push(node);
+                    node = node.left;
+                } else if (rank == leftSize) {
+                    path.push(node);
+                    node = null;
+                } else {
+                    rank -= leftSize + 1;
+                    node = node.right;
+                }
+            }
+            return new Iterator<T>() {
+                private int remaining = to - from;
+
+                @Override
+                public boolean hasNext() {
+                    return remaining > 0;
+                }
+
+                @Override
+                public T next() {
+                    if (remaining == 0) {
+                        throw new NoSuchElementException();
+                    }
+                    remaining--;
+                    Node<T> next = path.pop();
+                    for (Node<T> child = next.right; child != null; child = child.left) {
+                        path.push(child);
+                    }
+                    return next.value;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.chapter6;
+
+import com.common.Dish;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collector;
+
+public class TypeCollectors {
+    private static final Dish.Type[] TYPES = Dish.Type.values();
+
+    private TypeCollectors() {}
+
+    public static Collector<Dish, ?, Map<Dish.Type, Long>> countByType() {
+        return Collector.of(
+                () -> new long[TYPES.length],
+                (counts, dish) -> counts[dish.getType().ordinal()]++,
+                TypeCollectors::addSlots,
+                TypeCollectors::toTypeMap,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    public static Collector<Dish, ?, Map<Dish.Type, Long>> sumByType(ToIntFunction<Dish> mapper) {
+        return Collector.of(
+                () -> new long[TYPES.length],
+                (sums, dish) -> sums[dish.getType().ordinal()] += mapper.applyAsInt(dish),
+                TypeCollectors::addSlots,
+                TypeCollectors::toTypeMap,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    public static Collector<Dish, ?, Map<Dish.Type, Dish>> maxByType(ToIntFunction<Dish> mapper) {
+        return Collector.of(
+                MaxSlots::new,
+                (slots, dish) -> slots.accept(dish, mapper.applyAsInt(dish)),
+                MaxSlots::combine,
+                MaxSlots::toTypeMap);
+    }
+
+    public static Collector<Dish, ?, Map<Boolean, Map<Dish.Type, Long>>> partitionAndCountByType(Predicate<Dish> predicate) {
+        return Collector.of(
+                () -> new long[TYPES.length * 2],
+                (counts, dish) -> counts[(predicate.test(dish) ? TYPES.length : 0) + dish.getType().ordinal()]++,
+                TypeCollectors::addSlots,
+                counts -> {
+                    Map<Boolean, Map<Dish.Type, Long>> result = new HashMap<>(4);
+                    result.put(false, toTypeMap(counts, 0));
+                    result.put(true, toTypeMap(counts, TYPES.length));
+                    return result;
+                },
+                Collector.Characteristics.UNORDERED);
+    }
+
+    private static long[] addSlots(long[] left, long[] right) {
+        for (int i = 0; i < left.length; i++) {
+            left[i] += right[i];
+        }
+        return left;
+    }
+
+    private static Map<Dish.Type, Long> toTypeMap(long[] slots) {
+        return toTypeMap(slots, 0);
+    }
+
+    private static Map<Dish.Type, Long> toTypeMap(long[] slots, int offset) {
+        Map<Dish.Type, Long> result = new EnumMap<>(Dish.Type.class);
+        for (Dish.Type type : TYPES) {
+            result.put(type, slots[offset + type.ordinal()]);
+        }
+        return result;
+    }
+
+    // keeps the first dish seen for a tie, like maxBy on a sequential stream
+    private static class MaxSlots {
+        private final Dish[] dishes = new Dish[TYPES.length];
+        private final int[] values = new int[TYPES.length];
+
+        void accept(Dish dish, int value) {
+            int slot = dish.getType().ordinal();
+            if (dishes[slot] == null || value > values[slot]) {
+                dishes[slot] = dish;
+                values[slot] = value;
+            }
+        }
+
+        MaxSlots combine(MaxSlots other) {
+            for (int slot = 0; slot < TYPES.length; slot++) {
+                if (other.dishes[slot] != null && (dishes[slot] == null || other.values[slot] > values[slot])) {
+                    dishes[slot] = other.dishes[slot];
+                    values[slot] = other.values[slot];
+                }
+            }
+            return this;
+        }
+
+        Map<Dish.Type, Dish> toTypeMap() {
+            Map<Dish.Type, Dish> result = new EnumMap<>(Dish.Type.class);
+            for (Dish.Type type : TYPES) {
+                if (dishes[type.ordinal()] != null) {
+                    result.put(type, dishes[type.ordinal()]);
+                }
+            }
+            return result;
+        }
+    }
+}
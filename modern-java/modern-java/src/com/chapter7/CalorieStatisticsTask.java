@@ -0,0 +1,66 @@
+package com.chapter7;
+
+import com.common.Dish;
+
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class CalorieStatisticsTask extends RecursiveTask<IntSummaryStatistics> {
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_THRESHOLD = 10_000;
+
+    private final Dish[] dishes;
+    private final int start;
+    private final int end;
+    private final int threshold;
+
+    public CalorieStatisticsTask(Dish[] dishes, int threshold) {
+        this(dishes, 0, dishes.length, threshold);
+    }
+
+    private CalorieStatisticsTask(Dish[] dishes, int start, int end, int threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("threshold: " + threshold);
+        }
+        this.dishes = dishes;
+        this.start = start;
+        this.end = end;
+        this.threshold = threshold;
+    }
+
+    public static IntSummaryStatistics calorieStatistics(List<Dish> menu) {
+        return calorieStatistics(menu, DEFAULT_THRESHOLD);
+    }
+
+    public static IntSummaryStatistics calorieStatistics(List<Dish> menu, int threshold) {
+        Dish[] dishes = menu.toArray(new Dish[0]);
+        return ForkJoinPool.commonPool().invoke(new CalorieStatisticsTask(dishes, threshold));
+    }
+
+    @Override
+    protected IntSummaryStatistics compute() {
+        int length = end - start;
+        if (length <= threshold) {
+            return computeSequentially();
+        }
+        int middle = start + length / 2;
+        CalorieStatisticsTask leftTask = new CalorieStatisticsTask(dishes, start, middle, threshold);
+        leftTask.fork();
+        CalorieStatisticsTask rightTask = new CalorieStatisticsTask(dishes, middle, end, threshold);
+        IntSummaryStatistics rightResult = rightTask.compute();
+        IntSummaryStatistics leftResult = leftTask.join();
+        leftResult.combine(rightResult);
+        return leftResult;
+    }
+
+    private IntSummaryStatistics computeSequentially() {
+        IntSummaryStatistics statistics = new IntSummaryStatistics();
+        for (int i = start; i < end; i++) {
+            statistics.accept(dishes[i].getCalories());
+        }
+        return statistics;
+    }
+}
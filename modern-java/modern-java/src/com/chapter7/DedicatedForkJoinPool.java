@@ -0,0 +1,117 @@
+package com.chapter7;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class DedicatedForkJoinPool implements AutoCloseable {
+    private final String name;
+    private final ForkJoinPool pool;
+
+    public DedicatedForkJoinPool(String name, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism: " + parallelism);
+        }
+        this.name = name;
+        this.pool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(name + "-worker-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    // a parallel stream started from a worker thread splits its tasks into that worker's pool, not the common pool
+    public <T> T invoke(Supplier<T> pipeline) {
+        return pool.submit(pipeline::get).join();
+    }
+
+    public void execute(Runnable pipeline) {
+        pool.submit(pipeline).join();
+    }
+
+    public Metrics metrics() {
+        return new Metrics(pool.getParallelism(), pool.getPoolSize(), pool.getActiveThreadCount(),
+                pool.getRunningThreadCount(), pool.getQueuedTaskCount(), pool.getQueuedSubmissionCount(),
+                pool.getStealCount());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(10, TimeUnit.SECONDS)) {
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static final class Metrics {
+        private final int parallelism;
+        private final int poolSize;
+        private final int activeThreads;
+        private final int runningThreads;
+        private final long queuedTasks;
+        private final int queuedSubmissions;
+        private final long steals;
+
+        private Metrics(int parallelism, int poolSize, int activeThreads, int runningThreads,
+                        long queuedTasks, int queuedSubmissions, long steals) {
+            this.parallelism = parallelism;
+            this.poolSize = poolSize;
+            this.activeThreads = activeThreads;
+            this.runningThreads = runningThreads;
+            this.queuedTasks = queuedTasks;
+            this.queuedSubmissions = queuedSubmissions;
+            this.steals = steals;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public int getActiveThreads() {
+            return activeThreads;
+        }
+
+        public int getRunningThreads() {
+            return runningThreads;
+        }
+
+        public long getQueuedTasks() {
+            return queuedTasks;
+        }
+
+        public int getQueuedSubmissions() {
+            return queuedSubmissions;
+        }
+
+        public long getSteals() {
+            return steals;
+        }
+
+        @Override
+        public String toString() {
+            return "Metrics{" +
+                    "parallelism=" + parallelism +
+                    ", poolSize=" + poolSize +
+                    ", activeThreads=" + activeThreads +
+                    ", runningThreads=" + runningThreads +
+                    ", queuedTasks=" + queuedTasks +
+                    ", queuedSubmissions=" + queuedSubmissions +
+                    ", steals=" + steals +
+                    '}';
+        }
+    }
+}
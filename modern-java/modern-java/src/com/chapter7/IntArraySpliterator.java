@@ -0,0 +1,67 @@
+package com.chapter7;
+
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+public class IntArraySpliterator implements Spliterator.OfInt {
+    private final int[] array;
+    private final int minSplitSize;
+    private int index;
+    private final int end;
+
+    public IntArraySpliterator(int[] array, int minSplitSize) {
+        this(array, 0, array.length, minSplitSize);
+    }
+
+    private IntArraySpliterator(int[] array, int index, int end, int minSplitSize) {
+        if (minSplitSize <= 0) {
+            throw new IllegalArgumentException("minSplitSize: " + minSplitSize);
+        }
+        this.array = array;
+        this.index = index;
+        this.end = end;
+        this.minSplitSize = minSplitSize;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        if (index < end) {
+            action.accept(array[index++]);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        int[] a = array;
+        int i = index;
+        int hi = end;
+        index = hi;
+        for (; i < hi; i++) {
+            action.accept(a[i]);
+        }
+    }
+
+    @Override
+    public Spliterator.OfInt trySplit() {
+        int length = end - index;
+        if (length < minSplitSize * 2) {
+            return null;
+        }
+        int middle = index + length / 2;
+        IntArraySpliterator prefix = new IntArraySpliterator(array, index, middle, minSplitSize);
+        index = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return end - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+    }
+}
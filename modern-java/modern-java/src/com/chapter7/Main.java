@@ -5,6 +5,9 @@ import com.common.Dish;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.util.stream.Collectors.*;
 
@@ -23,5 +26,22 @@ public class Main {
                 new Dish("salmon", false, 111, Dish.Type.FISH)
 
         );
+
+        IntSummaryStatistics calorieStatistics = CalorieStatisticsTask.calorieStatistics(menu, 2);
+        System.out.println("calorieStatistics = " + calorieStatistics);
+
+        int[] calories = menu.stream().mapToInt(Dish::getCalories).toArray();
+        long totalCalories = StreamSupport.intStream(new IntArraySpliterator(calories, 2), true).asLongStream().sum();
+        System.out.println("totalCalories = " + totalCalories);
+
+        String sentence = " Nel   mezzo del cammin  di nostra  vita mi  ritrovai in una  selva oscura che la  dritta via era   smarrita ";
+        Stream<Character> stream = StreamSupport.stream(new WordCounterSpliterator(sentence, 10), true);
+        WordCounter wordCounter = stream.reduce(new WordCounter(0, true), WordCounter::accumulate, WordCounter::combine);
+        System.out.println("words = " + wordCounter.getCounter());
+
+        try (DedicatedForkJoinPool pool = new DedicatedForkJoinPool("menu-analytics", 2)) {
+            long rangedSum = pool.invoke(() -> LongStream.rangeClosed(1, 10_000_000).parallel().sum());
+            System.out.println("rangedSum = " + rangedSum + ", " + pool.metrics());
+        }
     }
 }
@@ -0,0 +1,62 @@
+package com.chapter7;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+public class WordCounterSpliterator implements Spliterator<Character> {
+    private final CharSequence text;
+    private final int minSplitSize;
+    private int currentChar;
+    private final int end;
+
+    public WordCounterSpliterator(CharSequence text, int minSplitSize) {
+        this(text, 0, text.length(), minSplitSize);
+    }
+
+    private WordCounterSpliterator(CharSequence text, int currentChar, int end, int minSplitSize) {
+        if (minSplitSize <= 0) {
+            throw new IllegalArgumentException("minSplitSize: " + minSplitSize);
+        }
+        this.text = text;
+        this.currentChar = currentChar;
+        this.end = end;
+        this.minSplitSize = minSplitSize;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Character> action) {
+        if (currentChar < end) {
+            action.accept(text.charAt(currentChar++));
+            return true;
+        }
+        return false;
+    }
+
+    // only splits on whitespace so that no word is counted in both halves
+    @Override
+    public Spliterator<Character> trySplit() {
+        int currentSize = end - currentChar;
+        if (currentSize < minSplitSize) {
+            return null;
+        }
+        for (int splitPos = currentChar + currentSize / 2; splitPos < end; splitPos++) {
+            if (Character.isWhitespace(text.charAt(splitPos))) {
+                Spliterator<Character> spliterator =
+                        new WordCounterSpliterator(text, currentChar, splitPos, minSplitSize);
+                currentChar = splitPos;
+                return spliterator;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return end - currentChar;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+}
@@ -0,0 +1,72 @@
+package com.chapter8;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+// merge(k, v) appends to a per-key buffer instead of concatenating strings; the joined value is built on read
+public class ConcurrentJoiningMap<K> {
+    private final ConcurrentHashMap<K, Parts> map = new ConcurrentHashMap<>();
+    private final String delimiter;
+
+    public ConcurrentJoiningMap(String delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    public void merge(K key, CharSequence value) {
+        if (value == null) {
+            return;
+        }
+        Parts parts = map.get(key);
+        if (parts == null) {
+            parts = map.computeIfAbsent(key, k -> new Parts());
+        }
+        parts.append(delimiter, value);
+    }
+
+    public void mergeAll(Map<? extends K, ? extends CharSequence> values) {
+        values.forEach(this::merge);
+    }
+
+    public void mergeAll(Stream<? extends Map.Entry<? extends K, ? extends CharSequence>> entries) {
+        entries.forEach(entry -> merge(entry.getKey(), entry.getValue()));
+    }
+
+    public String get(K key) {
+        Parts parts = map.get(key);
+        return parts == null ? null : parts.value();
+    }
+
+    public Map<K, String> toMap() {
+        Map<K, String> result = new HashMap<>();
+        map.forEach((key, parts) -> result.put(key, parts.value()));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+
+    private static final class Parts {
+        private final StringBuilder builder = new StringBuilder();
+        private int count;
+        private String joined;
+
+        synchronized void append(String delimiter, CharSequence value) {
+            if (count++ > 0) {
+                builder.append(delimiter);
+            }
+            builder.append(value);
+            joined = null;
+        }
+
+        synchronized String value() {
+            if (joined == null) {
+                joined = builder.toString();
+            }
+            return joined;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.chapter8;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+public class ConcurrentMultimap<K, V> {
+    private final ConcurrentHashMap<K, Queue<V>> map = new ConcurrentHashMap<>();
+
+    public void put(K key, V value) {
+        Queue<V> values = map.get(key);
+        if (values == null) {
+            values = map.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>());
+        }
+        values.add(value);
+    }
+
+    public Collection<V> get(K key) {
+        Queue<V> values = map.get(key);
+        return values == null ? Collections.emptyList() : Collections.unmodifiableCollection(values);
+    }
+
+    public boolean containsKey(K key) {
+        return map.containsKey(key);
+    }
+
+    public long keyCount() {
+        return map.mappingCount();
+    }
+
+    public void forEach(long parallelismThreshold, BiConsumer<? super K, ? super V> action) {
+        map.forEach(parallelismThreshold, (key, values) -> {
+            for (V value : values) {
+                action.accept(key, value);
+            }
+        });
+    }
+
+    public <U> U reduce(long parallelismThreshold,
+                        BiFunction<? super K, ? super Collection<V>, ? extends U> transformer,
+                        BiFunction<? super U, ? super U, ? extends U> reducer) {
+        return map.reduce(parallelismThreshold,
+                (key, values) -> transformer.apply(key, Collections.unmodifiableCollection(values)),
+                reducer);
+    }
+
+    public long valueCount() {
+        return map.reduceValuesToLong(Long.MAX_VALUE, values -> values.size(), 0L, Long::sum);
+    }
+
+    public Map<K, List<V>> toMap() {
+        Map<K, List<V>> result = new HashMap<>();
+        map.forEach((key, values) -> result.put(key, new ArrayList<>(values)));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return map.toString();
+    }
+}
@@ -0,0 +1,26 @@
+package com.chapter8;
+
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+// parses each duration key once; call invalidate() after the underlying Properties change
+public class DurationProperties {
+    private final Properties props;
+    private final ConcurrentHashMap<String, Integer> durations = new ConcurrentHashMap<>();
+
+    public DurationProperties(Properties props) {
+        this.props = props;
+    }
+
+    public int getDuration(String name) {
+        Integer duration = durations.get(name);
+        if (duration == null) {
+            duration = durations.computeIfAbsent(name, key -> Main.primitiveReadDuration(props, key));
+        }
+        return duration;
+    }
+
+    public void invalidate() {
+        durations.clear();
+    }
+}
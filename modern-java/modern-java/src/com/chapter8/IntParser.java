@@ -0,0 +1,71 @@
+package com.chapter8;
+
+// parses ASCII decimal ints without exceptions or boxing; failures are reported as INVALID
+public final class IntParser {
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private IntParser() {}
+
+    public static boolean isValid(long result) {
+        return result != INVALID;
+    }
+
+    public static long parseInt(CharSequence s) {
+        return s == null ? INVALID : parseInt(s, 0, s.length());
+    }
+
+    public static long parseInt(CharSequence s, int from, int to) {
+        if (from >= to) {
+            return INVALID;
+        }
+        char first = s.charAt(from);
+        boolean negative = first == '-';
+        int i = negative || first == '+' ? from + 1 : from;
+        if (i == to) {
+            return INVALID;
+        }
+        long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        long result = 0;
+        for (; i < to; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            result = result * 10 + digit;
+            if (result > limit) {
+                return INVALID;
+            }
+        }
+        return negative ? -result : result;
+    }
+
+    public static long parseInt(byte[] bytes, int from, int to) {
+        if (from >= to) {
+            return INVALID;
+        }
+        byte first = bytes[from];
+        boolean negative = first == '-';
+        int i = negative || first == '+' ? from + 1 : from;
+        if (i == to) {
+            return INVALID;
+        }
+        long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        long result = 0;
+        for (; i < to; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            result = result * 10 + digit;
+            if (result > limit) {
+                return INVALID;
+            }
+        }
+        return negative ? -result : result;
+    }
+
+    public static int parseIntOrDefault(CharSequence s, int defaultValue) {
+        long result = parseInt(s);
+        return isValid(result) ? (int) result : defaultValue;
+    }
+}
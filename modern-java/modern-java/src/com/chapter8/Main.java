@@ -51,6 +51,10 @@ public class Main {
 
         System.out.println(memberNameByDept);
 
+        ConcurrentMultimap<String, String> membersByDept = new ConcurrentMultimap<>();
+        membersByDept.put(deptName, "Park");
+        System.out.println("membersByDept = " + membersByDept);
+
         Map<String, String> leaderByDept = new HashMap<>();
         leaderByDept.put("testing team", "Song");
         leaderByDept.put("develop team", "Park");
@@ -65,6 +69,11 @@ public class Main {
                 everyone.merge(k, v, (phone1, phone2) -> phone1 + " & " + phone2));
         System.out.println("everyone = " + everyone);
 
+        ConcurrentJoiningMap<String> everyoneJoined = new ConcurrentJoiningMap<>(" & ");
+        everyoneJoined.mergeAll(family);
+        everyoneJoined.mergeAll(friends);
+        System.out.println("everyoneJoined = " + everyoneJoined);
+
         Optional<Car> optCar = Optional.empty();
         Car car = new Car();
 
@@ -97,4 +106,9 @@ public class Main {
                        .filter(result -> result > 0)
                        .orElse(0);
     }
+
+    public static int primitiveReadDuration(Properties props, String name) {
+        long result = IntParser.parseInt(props.getProperty(name));
+        return result > 0 ? (int) result : 0;
+    }
 }
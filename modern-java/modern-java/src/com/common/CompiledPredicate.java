@@ -0,0 +1,92 @@
+package com.common;
+
+import java.util.function.Predicate;
+
+// the parsed postfix program; PredicateClassGenerator turns it into a class, and it is interpreted directly
+// only for schemas without static accessors
+final class CompiledPredicate<T> implements Predicate<T> {
+    static final int EQ = 0;
+    static final int NE = 1;
+    static final int LT = 2;
+    static final int LE = 3;
+    static final int GT = 4;
+    static final int GE = 5;
+    static final int AND = 6;
+    static final int OR = 7;
+    static final int NOT = 8;
+
+    private final FieldSchema<T> schema;
+    private final String expression;
+    private final int[] ops;
+    private final int[] fields;
+    private final int[] constants;
+
+    CompiledPredicate(FieldSchema<T> schema, String expression, int[] ops, int[] fields, int[] constants) {
+        this.schema = schema;
+        this.expression = expression;
+        this.ops = ops;
+        this.fields = fields;
+        this.constants = constants;
+    }
+
+    int[] ops() {
+        return ops;
+    }
+
+    int[] fields() {
+        return fields;
+    }
+
+    int[] constants() {
+        return constants;
+    }
+
+    String expression() {
+        return expression;
+    }
+
+    // postfix program over a stack of booleans packed into a long
+    @Override
+    public boolean test(T value) {
+        long stack = 0;
+        for (int i = 0; i < ops.length; i++) {
+            int op = ops[i];
+            switch (op) {
+                case AND:
+                    stack = (stack >>> 1) & (stack | ~1L);
+                    break;
+                case OR:
+                    stack = (stack >>> 1) | (stack & 1L);
+                    break;
+                case NOT:
+                    stack ^= 1L;
+                    break;
+                default:
+                    stack = (stack << 1) | (compare(op, schema.read(value, fields[i]), constants[i]) ? 1L : 0L);
+            }
+        }
+        return (stack & 1L) != 0;
+    }
+
+    private static boolean compare(int op, int left, int right) {
+        switch (op) {
+            case EQ:
+                return left == right;
+            case NE:
+                return left != right;
+            case LT:
+                return left < right;
+            case LE:
+                return left <= right;
+            case GT:
+                return left > right;
+            default:
+                return left >= right;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledPredicate{" + expression + '}';
+    }
+}
@@ -0,0 +1,77 @@
+package com.common;
+
+import java.lang.reflect.Method;
+
+public final class DishSchema implements FieldSchema<Dish> {
+    public static final DishSchema INSTANCE = new DishSchema();
+
+    private static final int CALORIES = 0;
+    private static final int VEGETARIAN = 1;
+    private static final int TYPE = 2;
+    private static final Method[] ACCESSORS = {
+            accessor("calories"), accessor("vegetarian"), accessor("type")
+    };
+
+    private DishSchema() {}
+
+    @Override
+    public int fieldIndex(String name) {
+        switch (name) {
+            case "calories":
+                return CALORIES;
+            case "vegetarian":
+                return VEGETARIAN;
+            case "type":
+                return TYPE;
+            default:
+                return UNKNOWN_FIELD;
+        }
+    }
+
+    @Override
+    public int constant(int field, String name) {
+        if (field != TYPE) {
+            throw new IllegalArgumentException("field has no named constants: " + name);
+        }
+        return Dish.Type.valueOf(name).ordinal();
+    }
+
+    @Override
+    public int read(Dish dish, int field) {
+        switch (field) {
+            case CALORIES:
+                return calories(dish);
+            case VEGETARIAN:
+                return vegetarian(dish);
+            case TYPE:
+                return type(dish);
+            default:
+                throw new IllegalArgumentException("field: " + field);
+        }
+    }
+
+    @Override
+    public Method accessor(int field) {
+        return ACCESSORS[field];
+    }
+
+    public static int calories(Dish dish) {
+        return dish.getCalories();
+    }
+
+    public static int vegetarian(Dish dish) {
+        return dish.isVegetarian() ? 1 : 0;
+    }
+
+    public static int type(Dish dish) {
+        return dish.getType().ordinal();
+    }
+
+    private static Method accessor(String name) {
+        try {
+            return DishSchema.class.getMethod(name, Dish.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
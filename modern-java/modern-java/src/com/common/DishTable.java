@@ -0,0 +1,200 @@
+package com.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+public class DishTable {
+    private static final Dish.Type[] TYPES = Dish.Type.values();
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // name ids are local to this dictionary; by default each table owns one, so it is dropped with the table
+    private final NameDictionary names;
+    private int[] nameIds;
+    private boolean[] vegetarian;
+    private int[] calories;
+    private byte[] types;
+    private int size;
+
+    public DishTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public DishTable(int capacity) {
+        this(capacity, new NameDictionary());
+    }
+
+    public DishTable(int capacity, NameDictionary names) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity: " + capacity);
+        }
+        this.names = names;
+        this.nameIds = new int[capacity];
+        this.vegetarian = new boolean[capacity];
+        this.calories = new int[capacity];
+        this.types = new byte[capacity];
+    }
+
+    public static DishTable of(Collection<Dish> dishes) {
+        return of(dishes, new NameDictionary());
+    }
+
+    public static DishTable of(Collection<Dish> dishes, NameDictionary names) {
+        DishTable table = new DishTable(dishes.size(), names);
+        for (Dish dish : dishes) {
+            table.add(dish);
+        }
+        return table;
+    }
+
+    public int add(Dish dish) {
+        return addRow(names.intern(dish.getName()), dish.isVegetarian(), dish.getCalories(), dish.getType());
+    }
+
+    public int add(String name, boolean vegetarian, int calories, Dish.Type type) {
+        return addRow(names.intern(name), vegetarian, calories, type);
+    }
+
+    private int addRow(int nameId, boolean vegetarian, int calories, Dish.Type type) {
+        if (size == nameIds.length) {
+            grow();
+        }
+        int row = size++;
+        this.nameIds[row] = nameId;
+        this.vegetarian[row] = vegetarian;
+        this.calories[row] = calories;
+        this.types[row] = (byte) type.ordinal();
+        return row;
+    }
+
+    private void grow() {
+        int capacity = Math.max(DEFAULT_CAPACITY, nameIds.length + (nameIds.length >> 1));
+        nameIds = Arrays.copyOf(nameIds, capacity);
+        vegetarian = Arrays.copyOf(vegetarian, capacity);
+        calories = Arrays.copyOf(calories, capacity);
+        types = Arrays.copyOf(types, capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getName(int row) {
+        return names.name(nameIds[checkRow(row)]);
+    }
+
+    public int getNameId(int row) {
+        return nameIds[checkRow(row)];
+    }
+
+    public boolean isVegetarian(int row) {
+        return vegetarian[checkRow(row)];
+    }
+
+    public int getCalories(int row) {
+        return calories[checkRow(row)];
+    }
+
+    public Dish.Type getType(int row) {
+        return TYPES[types[checkRow(row)]];
+    }
+
+    public Dish toDish(int row) {
+        checkRow(row);
+        return new Dish(names.name(nameIds[row]), vegetarian[row], calories[row], TYPES[types[row]]);
+    }
+
+    public IntStream rows() {
+        return IntStream.range(0, size);
+    }
+
+    public int[] filterByCalories(IntPredicate predicate) {
+        int[] result = new int[size];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (predicate.test(calories[row])) {
+                result[count++] = row;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    public int[] filterByType(Dish.Type type) {
+        byte ordinal = (byte) type.ordinal();
+        int[] result = new int[size];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (types[row] == ordinal) {
+                result[count++] = row;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    public int[] filterByVegetarian(boolean value) {
+        int[] result = new int[size];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (vegetarian[row] == value) {
+                result[count++] = row;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    // calories in the high 32 bits, row in the low 32 bits: one primitive sort, stable by row
+    public int[] sortByCalories(int[] rows) {
+        long[] keys = new long[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            int row = checkRow(rows[i]);
+            keys[i] = ((long) calories[row] << 32) | row;
+        }
+        Arrays.sort(keys);
+        int[] result = new int[rows.length];
+        for (int i = 0; i < keys.length; i++) {
+            result[i] = (int) keys[i];
+        }
+        return result;
+    }
+
+    public int[] limit(int[] rows, int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize: " + maxSize);
+        }
+        return rows.length <= maxSize ? rows : Arrays.copyOf(rows, maxSize);
+    }
+
+    public List<String> names(int[] rows) {
+        List<String> result = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            result.add(names.name(nameIds[checkRow(row)]));
+        }
+        return result;
+    }
+
+    public long sumCalories(int[] rows) {
+        long sum = 0;
+        for (int row : rows) {
+            sum += calories[checkRow(row)];
+        }
+        return sum;
+    }
+
+    public int[] countByType() {
+        int[] counts = new int[TYPES.length];
+        for (int row = 0; row < size; row++) {
+            counts[types[row]]++;
+        }
+        return counts;
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row: " + row + ", size: " + size);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,19 @@
+package com.common;
+
+import java.lang.reflect.Method;
+
+public interface FieldSchema<T> {
+    int UNKNOWN_FIELD = -1;
+
+    int fieldIndex(String name);
+
+    int constant(int field, String name);
+
+    int read(T value, int field);
+
+    // a public static int method taking the value type, called directly by generated predicates;
+    // null keeps the field on the interpreted path
+    default Method accessor(int field) {
+        return null;
+    }
+}
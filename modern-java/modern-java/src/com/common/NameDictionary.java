@@ -0,0 +1,84 @@
+package com.common;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// maps each distinct name to a dense int id; lookups never lock, only the first registration of a name does.
+// a dictionary never evicts, so it belongs to one owner (a DishTable, a resolver call) and dies with it
+public final class NameDictionary {
+    public static final int NULL_ID = -1;
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[64];
+    private int size;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public int intern(String name) {
+        if (name == null) {
+            return NULL_ID;
+        }
+        Integer id = ids.get(name);
+        if (id != null) {
+            hits.increment();
+            return id;
+        }
+        return register(name);
+    }
+
+    private synchronized int register(String name) {
+        Integer existing = ids.get(name);
+        if (existing != null) {
+            hits.increment();
+            return existing;
+        }
+        misses.increment();
+        String[] current = names;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        int id = size++;
+        current[id] = name;
+        names = current;
+        ids.put(name, id);
+        return id;
+    }
+
+    public String name(int id) {
+        if (id == NULL_ID) {
+            return null;
+        }
+        String[] current = names;
+        if (id < 0 || id >= current.length || current[id] == null) {
+            throw new IllegalArgumentException("unknown id: " + id);
+        }
+        return current[id];
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public double hitRate() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 1.0 : (double) hit / total;
+    }
+
+    @Override
+    public String toString() {
+        return "NameDictionary{" +
+                "size=" + size() +
+                ", hitRate=" + hitRate() +
+                '}';
+    }
+}
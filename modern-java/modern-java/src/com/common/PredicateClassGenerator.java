@@ -0,0 +1,419 @@
+package com.common;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+// turns a postfix program into one class whose test() calls the schema's static accessors directly.
+// comparisons are branch-free int/long arithmetic, so the method is straight-line code and needs no
+// StackMapTable. each class gets its own loader and unloads once the compiler's cache lets go of it
+final class PredicateClassGenerator {
+    private static final String PACKAGE = "com/common/generated/";
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int ICONST_0 = 0x03;
+    private static final int ICONST_1 = 0x04;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC_W = 0x13;
+    private static final int LDC2_W = 0x14;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int ASTORE_2 = 0x4d;
+    private static final int DUP = 0x59;
+    private static final int LADD = 0x61;
+    private static final int LSUB = 0x65;
+    private static final int INEG = 0x74;
+    private static final int LNEG = 0x75;
+    private static final int IUSHR = 0x7c;
+    private static final int LUSHR = 0x7d;
+    private static final int IAND = 0x7e;
+    private static final int IOR = 0x80;
+    private static final int IXOR = 0x82;
+    private static final int I2L = 0x85;
+    private static final int L2I = 0x88;
+    private static final int IRETURN = 0xac;
+    private static final int ARETURN = 0xb0;
+    private static final int RETURN = 0xb1;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int CHECKCAST = 0xc0;
+
+    private PredicateClassGenerator() {}
+
+    // null when a field used by the expression has no accessor
+    static <T> Predicate<T> generate(FieldSchema<T> schema, CompiledPredicate<T> program) {
+        int[] ops = program.ops();
+        int[] fields = program.fields();
+        Method[] accessors = new Method[ops.length];
+        Class<?> valueType = null;
+        ClassLoader parent = null;
+        for (int i = 0; i < ops.length; i++) {
+            if (isLogical(ops[i])) {
+                continue;
+            }
+            Method accessor = schema.accessor(fields[i]);
+            if (!isUsable(accessor) || (valueType != null && accessor.getParameterTypes()[0] != valueType)) {
+                return null;
+            }
+            valueType = accessor.getParameterTypes()[0];
+            parent = accessor.getDeclaringClass().getClassLoader();
+            accessors[i] = accessor;
+        }
+        if (valueType == null) {
+            return null;
+        }
+        String className = PACKAGE + "Predicate" + COUNTER.incrementAndGet();
+        byte[] bytes = new ClassWriter(className, program.expression())
+                .write(valueType, program, accessors);
+        GeneratedClassLoader loader = new GeneratedClassLoader(parent);
+        try {
+            @SuppressWarnings("unchecked")
+            Predicate<T> predicate = (Predicate<T>) loader.define(className.replace('/', '.'), bytes)
+                    .getDeclaredConstructor()
+                    .newInstance();
+            return predicate;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("cannot load predicate for " + program.expression(), e);
+        }
+    }
+
+    private static boolean isLogical(int op) {
+        return op == CompiledPredicate.AND || op == CompiledPredicate.OR || op == CompiledPredicate.NOT;
+    }
+
+    private static boolean isUsable(Method accessor) {
+        return accessor != null
+                && Modifier.isPublic(accessor.getModifiers())
+                && Modifier.isStatic(accessor.getModifiers())
+                && Modifier.isPublic(accessor.getDeclaringClass().getModifiers())
+                && accessor.getReturnType() == int.class
+                && accessor.getParameterCount() == 1
+                && !accessor.getParameterTypes()[0].isPrimitive()
+                && Modifier.isPublic(accessor.getParameterTypes()[0].getModifiers());
+    }
+
+    private static String internalName(Class<?> type) {
+        return type.getName().replace('.', '/');
+    }
+
+    private static final class GeneratedClassLoader extends ClassLoader {
+        GeneratedClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+
+    private static final class ClassWriter {
+        private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+        private final DataOutputStream pool = new DataOutputStream(poolBytes);
+        private final Map<String, Integer> entries = new HashMap<>();
+        private final String className;
+        private final String expression;
+        private int poolSize = 1;
+
+        ClassWriter(String className, String expression) {
+            this.className = className;
+            this.expression = expression;
+        }
+
+        byte[] write(Class<?> valueType, CompiledPredicate<?> program, Method[] accessors) {
+            try {
+                int thisClass = classEntry(className);
+                int superClass = classEntry("java/lang/Object");
+                int predicate = classEntry("java/util/function/Predicate");
+                byte[] init = method(ACC_PUBLIC, "<init>", "()V", 1, 1, initCode());
+                Code test = testCode(valueType, program, accessors);
+                byte[] testMethod = method(ACC_PUBLIC | ACC_FINAL, "test", "(Ljava/lang/Object;)Z",
+                        test.maxStack, 3, test.bytes.toByteArray());
+                byte[] toString = method(ACC_PUBLIC | ACC_FINAL, "toString", "()Ljava/lang/String;", 1, 1,
+                        toStringCode());
+
+                ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(classBytes);
+                out.writeInt(0xCAFEBABE);
+                out.writeShort(0);
+                out.writeShort(52);
+                out.writeShort(poolSize);
+                pool.flush();
+                poolBytes.writeTo(out);
+                out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+                out.writeShort(thisClass);
+                out.writeShort(superClass);
+                out.writeShort(1);
+                out.writeShort(predicate);
+                out.writeShort(0);
+                out.writeShort(3);
+                out.write(init);
+                out.write(testMethod);
+                out.write(toString);
+                out.writeShort(0);
+                out.flush();
+                return classBytes.toByteArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private byte[] initCode() throws IOException {
+            Code code = new Code();
+            code.op(ALOAD_0);
+            code.op(INVOKESPECIAL);
+            code.u2(methodEntry("java/lang/Object", "<init>", "()V"));
+            code.op(RETURN);
+            return code.bytes.toByteArray();
+        }
+
+        private byte[] toStringCode() throws IOException {
+            Code code = new Code();
+            code.op(LDC_W);
+            code.u2(stringEntry("CompiledPredicate{" + expression + '}'));
+            code.op(ARETURN);
+            return code.bytes.toByteArray();
+        }
+
+        // a comparison peaks at the earlier results plus two longs: the widened value and the constant
+        private Code testCode(Class<?> valueType, CompiledPredicate<?> program, Method[] accessors)
+                throws IOException {
+            int[] ops = program.ops();
+            int[] constants = program.constants();
+            Code code = new Code();
+            code.op(ALOAD_1);
+            code.op(CHECKCAST);
+            code.u2(classEntry(internalName(valueType)));
+            code.op(ASTORE_2);
+            int depth = 0;
+            for (int i = 0; i < ops.length; i++) {
+                switch (ops[i]) {
+                    case CompiledPredicate.AND:
+                        code.op(IAND);
+                        depth--;
+                        break;
+                    case CompiledPredicate.OR:
+                        code.op(IOR);
+                        depth--;
+                        break;
+                    case CompiledPredicate.NOT:
+                        code.op(ICONST_1);
+                        code.op(IXOR);
+                        code.peak(depth + 1);
+                        break;
+                    default:
+                        code.op(ALOAD_2);
+                        code.op(INVOKESTATIC);
+                        Method accessor = accessors[i];
+                        code.u2(methodEntry(internalName(accessor.getDeclaringClass()), accessor.getName(),
+                                "(L" + internalName(valueType) + ";)I"));
+                        comparison(code, ops[i], constants[i]);
+                        code.peak(depth + 4);
+                        depth++;
+                }
+            }
+            code.op(IRETURN);
+            code.peak(1);
+            return code;
+        }
+
+        // value on the stack; leaves 1 or 0
+        private void comparison(Code code, int op, int constant) throws IOException {
+            switch (op) {
+                case CompiledPredicate.EQ:
+                case CompiledPredicate.NE:
+                    // (x | -x) >>> 31 is 1 exactly when x != 0
+                    pushInt(code, constant);
+                    code.op(IXOR);
+                    code.op(DUP);
+                    code.op(INEG);
+                    code.op(IOR);
+                    code.op(BIPUSH);
+                    code.u1(31);
+                    code.op(IUSHR);
+                    if (op == CompiledPredicate.EQ) {
+                        negate(code);
+                    }
+                    break;
+                case CompiledPredicate.LT:
+                case CompiledPredicate.GE:
+                    // the sign bit of (long) value - constant, which cannot overflow
+                    code.op(I2L);
+                    code.op(LDC2_W);
+                    code.u2(longEntry(constant));
+                    code.op(LSUB);
+                    signBit(code);
+                    if (op == CompiledPredicate.GE) {
+                        negate(code);
+                    }
+                    break;
+                default:
+                    // GT and LE: the sign bit of constant - (long) value
+                    code.op(I2L);
+                    code.op(LNEG);
+                    code.op(LDC2_W);
+                    code.u2(longEntry(constant));
+                    code.op(LADD);
+                    signBit(code);
+                    if (op == CompiledPredicate.LE) {
+                        negate(code);
+                    }
+            }
+        }
+
+        private void signBit(Code code) throws IOException {
+            code.op(BIPUSH);
+            code.u1(63);
+            code.op(LUSHR);
+            code.op(L2I);
+        }
+
+        private void negate(Code code) throws IOException {
+            code.op(ICONST_1);
+            code.op(IXOR);
+        }
+
+        private void pushInt(Code code, int value) throws IOException {
+            if (value >= -1 && value <= 5) {
+                code.op(ICONST_0 + value);
+            } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                code.op(BIPUSH);
+                code.u1(value);
+            } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                code.op(SIPUSH);
+                code.u2(value);
+            } else {
+                code.op(LDC_W);
+                code.u2(intEntry(value));
+            }
+        }
+
+        private byte[] method(int access, String name, String descriptor, int maxStack, int maxLocals,
+                              byte[] code) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeShort(access);
+            out.writeShort(utf8(name));
+            out.writeShort(utf8(descriptor));
+            out.writeShort(1);
+            out.writeShort(utf8("Code"));
+            out.writeInt(12 + code.length);
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(code.length);
+            out.write(code);
+            out.writeShort(0);
+            out.writeShort(0);
+            out.flush();
+            return bytes.toByteArray();
+        }
+
+        private int utf8(String value) throws IOException {
+            Integer index = entries.get("U" + value);
+            if (index != null) {
+                return index;
+            }
+            pool.writeByte(1);
+            pool.writeUTF(value);
+            return register("U" + value, 1);
+        }
+
+        private int classEntry(String internalName) throws IOException {
+            Integer index = entries.get("C" + internalName);
+            if (index != null) {
+                return index;
+            }
+            int name = utf8(internalName);
+            pool.writeByte(7);
+            pool.writeShort(name);
+            return register("C" + internalName, 1);
+        }
+
+        private int stringEntry(String value) throws IOException {
+            int utf8 = utf8(value);
+            pool.writeByte(8);
+            pool.writeShort(utf8);
+            return register("S" + value, 1);
+        }
+
+        private int intEntry(int value) throws IOException {
+            Integer index = entries.get("I" + value);
+            if (index != null) {
+                return index;
+            }
+            pool.writeByte(3);
+            pool.writeInt(value);
+            return register("I" + value, 1);
+        }
+
+        private int longEntry(long value) throws IOException {
+            Integer index = entries.get("J" + value);
+            if (index != null) {
+                return index;
+            }
+            pool.writeByte(5);
+            pool.writeLong(value);
+            return register("J" + value, 2);
+        }
+
+        private int methodEntry(String owner, String name, String descriptor) throws IOException {
+            String key = "M" + owner + '.' + name + descriptor;
+            Integer index = entries.get(key);
+            if (index != null) {
+                return index;
+            }
+            int ownerClass = classEntry(owner);
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            pool.writeByte(12);
+            pool.writeShort(nameIndex);
+            pool.writeShort(descriptorIndex);
+            int nameAndType = register("N" + name + descriptor, 1);
+            pool.writeByte(10);
+            pool.writeShort(ownerClass);
+            pool.writeShort(nameAndType);
+            return register(key, 1);
+        }
+
+        private int register(String key, int slots) {
+            int index = poolSize;
+            poolSize += slots;
+            entries.put(key, index);
+            return index;
+        }
+    }
+
+    private static final class Code {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        int maxStack;
+
+        void op(int opcode) {
+            bytes.write(opcode);
+        }
+
+        void u1(int value) {
+            bytes.write(value);
+        }
+
+        void u2(int value) {
+            bytes.write(value >>> 8);
+            bytes.write(value);
+        }
+
+        void peak(int depth) {
+            maxStack = Math.max(maxStack, depth);
+        }
+    }
+}
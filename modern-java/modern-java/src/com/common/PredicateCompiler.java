@@ -0,0 +1,70 @@
+package com.common;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+// one generated class per (schema, expression). The cache holds at most about MAX_CACHED of them;
+// past that an arbitrary entry is dropped, and its class unloads once no caller still holds the predicate
+public final class PredicateCompiler {
+    private static final int MAX_CACHED = 256;
+    private static final Map<Key, Predicate<?>> CACHE = new ConcurrentHashMap<>();
+
+    private PredicateCompiler() {}
+
+    @SuppressWarnings("unchecked")
+    public static <T> Predicate<T> compile(FieldSchema<T> schema, String expression) {
+        Key key = new Key(schema, expression);
+        Predicate<?> predicate = CACHE.get(key);
+        if (predicate == null) {
+            predicate = build(schema, expression);
+            if (CACHE.size() >= MAX_CACHED) {
+                Iterator<Key> keys = CACHE.keySet().iterator();
+                if (keys.hasNext()) {
+                    keys.next();
+                    keys.remove();
+                }
+            }
+            Predicate<?> raced = CACHE.putIfAbsent(key, predicate);
+            if (raced != null) {
+                predicate = raced;
+            }
+        }
+        return (Predicate<T>) predicate;
+    }
+
+    private static <T> Predicate<T> build(FieldSchema<T> schema, String expression) {
+        CompiledPredicate<T> program = new PredicateParser<>(schema, expression).parse();
+        Predicate<T> generated = PredicateClassGenerator.generate(schema, program);
+        return generated != null ? generated : program;
+    }
+
+    private static final class Key {
+        private final FieldSchema<?> schema;
+        private final String expression;
+
+        Key(FieldSchema<?> schema, String expression) {
+            this.schema = schema;
+            this.expression = expression;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return schema == key.schema && expression.equals(key.expression);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(schema), expression);
+        }
+    }
+}
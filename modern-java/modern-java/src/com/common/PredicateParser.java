@@ -0,0 +1,165 @@
+package com.common;
+
+import java.util.Arrays;
+
+class PredicateParser<T> {
+    private static final int MAX_DEPTH = 64;
+
+    private final FieldSchema<T> schema;
+    private final String expression;
+    private int position;
+
+    private int[] ops = new int[8];
+    private int[] fields = new int[8];
+    private int[] constants = new int[8];
+    private int length;
+    private int depth;
+    private int maxDepth;
+
+    PredicateParser(FieldSchema<T> schema, String expression) {
+        this.schema = schema;
+        this.expression = expression;
+    }
+
+    CompiledPredicate<T> parse() {
+        parseOr();
+        skipWhitespace();
+        if (position != expression.length()) {
+            throw error("unexpected character");
+        }
+        if (maxDepth > MAX_DEPTH) {
+            throw new IllegalArgumentException("expression too deep: " + expression);
+        }
+        return new CompiledPredicate<>(schema, expression,
+                Arrays.copyOf(ops, length), Arrays.copyOf(fields, length), Arrays.copyOf(constants, length));
+    }
+
+    private void parseOr() {
+        parseAnd();
+        while (accept("||")) {
+            parseAnd();
+            emit(CompiledPredicate.OR, 0, 0);
+        }
+    }
+
+    private void parseAnd() {
+        parseUnary();
+        while (accept("&&")) {
+            parseUnary();
+            emit(CompiledPredicate.AND, 0, 0);
+        }
+    }
+
+    private void parseUnary() {
+        if (accept("!")) {
+            parseUnary();
+            emit(CompiledPredicate.NOT, 0, 0);
+        } else if (accept("(")) {
+            parseOr();
+            if (!accept(")")) {
+                throw error("expected ')'");
+            }
+        } else {
+            parseComparison();
+        }
+    }
+
+    private void parseComparison() {
+        String name = identifier();
+        int field = schema.fieldIndex(name);
+        if (field == FieldSchema.UNKNOWN_FIELD) {
+            throw error("unknown field '" + name + "'");
+        }
+        int op = comparisonOperator();
+        if (op < 0) {
+            emit(CompiledPredicate.NE, field, 0);
+            return;
+        }
+        emit(op, field, operand(field));
+    }
+
+    private int comparisonOperator() {
+        if (accept("==")) return CompiledPredicate.EQ;
+        if (accept("!=")) return CompiledPredicate.NE;
+        if (accept("<=")) return CompiledPredicate.LE;
+        if (accept(">=")) return CompiledPredicate.GE;
+        if (accept("<")) return CompiledPredicate.LT;
+        if (accept(">")) return CompiledPredicate.GT;
+        return -1;
+    }
+
+    private int operand(int field) {
+        skipWhitespace();
+        int start = position;
+        if (position < expression.length() && expression.charAt(position) == '-') {
+            position++;
+        }
+        while (position < expression.length() && Character.isDigit(expression.charAt(position))) {
+            position++;
+        }
+        if (position > start && Character.isDigit(expression.charAt(position - 1))) {
+            try {
+                return Integer.parseInt(expression.substring(start, position));
+            } catch (NumberFormatException e) {
+                throw error("number out of range");
+            }
+        }
+        position = start;
+        String name = identifier();
+        if (name.equals("true")) return 1;
+        if (name.equals("false")) return 0;
+        try {
+            return schema.constant(field, name);
+        } catch (IllegalArgumentException e) {
+            throw error("unknown constant '" + name + "'");
+        }
+    }
+
+    private String identifier() {
+        skipWhitespace();
+        int start = position;
+        while (position < expression.length() && Character.isJavaIdentifierPart(expression.charAt(position))) {
+            position++;
+        }
+        if (start == position) {
+            throw error("expected identifier");
+        }
+        return expression.substring(start, position);
+    }
+
+    private boolean accept(String token) {
+        skipWhitespace();
+        if (expression.startsWith(token, position)) {
+            position += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+            position++;
+        }
+    }
+
+    private void emit(int op, int field, int constant) {
+        if (length == ops.length) {
+            ops = Arrays.copyOf(ops, length * 2);
+            fields = Arrays.copyOf(fields, length * 2);
+            constants = Arrays.copyOf(constants, length * 2);
+        }
+        ops[length] = op;
+        fields[length] = field;
+        constants[length] = constant;
+        length++;
+        if (op == CompiledPredicate.AND || op == CompiledPredicate.OR) {
+            depth--;
+        } else if (op != CompiledPredicate.NOT) {
+            maxDepth = Math.max(maxDepth, ++depth);
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at " + position + ": " + expression);
+    }
+}
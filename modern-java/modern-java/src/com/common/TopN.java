@@ -0,0 +1,252 @@
+package com.common;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collector;
+
+public final class TopN {
+
+    private TopN() {}
+
+    // same elements and order as sorted(comparator).limit(k), in O(n log k) time and O(k) memory;
+    // ties keep encounter order because every element carries its input sequence number
+    public static <T> Collector<T, ?, List<T>> topN(int k, Comparator<? super T> comparator) {
+        checkK(k);
+        return Collector.of(
+                () -> new Heap<T>(k, comparator),
+                Heap::offer,
+                Heap::merge,
+                Heap::toSortedList);
+    }
+
+    // same as topN(k, comparingInt(key)), without boxing the keys
+    public static <T> Collector<T, ?, List<T>> topNByInt(int k, ToIntFunction<? super T> key) {
+        checkK(k);
+        return Collector.of(
+                () -> new IntKeyHeap<T>(k),
+                (heap, value) -> heap.offer(key.applyAsInt(value), value),
+                IntKeyHeap::merge,
+                IntKeyHeap::toSortedList);
+    }
+
+    private static void checkK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k: " + k);
+        }
+    }
+
+    // max-heap of the k smallest (element, sequence) pairs seen so far; the root is the one to evict next.
+    // sequence numbers are local to an accumulator and shifted by the left side's count on merge,
+    // so they stay in encounter order for parallel streams too
+    private static class Heap<T> {
+        private final Comparator<? super T> comparator;
+        private final Object[] elements;
+        private final long[] sequences;
+        private int size;
+        private long count;
+
+        Heap(int k, Comparator<? super T> comparator) {
+            this.comparator = comparator;
+            this.elements = new Object[k];
+            this.sequences = new long[k];
+        }
+
+        void offer(T value) {
+            insert(value, count++);
+        }
+
+        Heap<T> merge(Heap<T> other) {
+            for (int i = 0; i < other.size; i++) {
+                insert(other.element(i), count + other.sequences[i]);
+            }
+            count += other.count;
+            return this;
+        }
+
+        // in-place heap sort: the finisher runs once, so the heap can be consumed
+        List<T> toSortedList() {
+            for (int end = size - 1; end > 0; end--) {
+                swap(0, end);
+                siftDown(0, end);
+            }
+            List<T> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(element(i));
+            }
+            return result;
+        }
+
+        private void insert(T value, long sequence) {
+            if (size < elements.length) {
+                elements[size] = value;
+                sequences[size] = sequence;
+                siftUp(size++);
+            } else if (size > 0 && compare(value, sequence, 0) < 0) {
+                elements[0] = value;
+                sequences[0] = sequence;
+                siftDown(0, size);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private T element(int i) {
+            return (T) elements[i];
+        }
+
+        private int compare(T value, long sequence, int j) {
+            int c = comparator.compare(value, element(j));
+            return c != 0 ? c : Long.compare(sequence, sequences[j]);
+        }
+
+        private int compare(int i, int j) {
+            return compare(element(i), sequences[i], j);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (compare(i, parent) <= 0) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i, int end) {
+            while (true) {
+                int largest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < end && compare(left, largest) > 0) {
+                    largest = left;
+                }
+                if (right < end && compare(right, largest) > 0) {
+                    largest = right;
+                }
+                if (largest == i) {
+                    return;
+                }
+                swap(i, largest);
+                i = largest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            Object element = elements[i];
+            elements[i] = elements[j];
+            elements[j] = element;
+            long sequence = sequences[i];
+            sequences[i] = sequences[j];
+            sequences[j] = sequence;
+        }
+    }
+
+    // same layout as Heap, with the keys unboxed
+    private static class IntKeyHeap<T> {
+        private final int[] keys;
+        private final long[] sequences;
+        private final Object[] values;
+        private int size;
+        private long count;
+
+        IntKeyHeap(int k) {
+            this.keys = new int[k];
+            this.sequences = new long[k];
+            this.values = new Object[k];
+        }
+
+        void offer(int key, T value) {
+            insert(key, count++, value);
+        }
+
+        @SuppressWarnings("unchecked")
+        IntKeyHeap<T> merge(IntKeyHeap<T> other) {
+            for (int i = 0; i < other.size; i++) {
+                insert(other.keys[i], count + other.sequences[i], (T) other.values[i]);
+            }
+            count += other.count;
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> toSortedList() {
+            for (int end = size - 1; end > 0; end--) {
+                swap(0, end);
+                siftDown(0, end);
+            }
+            List<T> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add((T) values[i]);
+            }
+            return result;
+        }
+
+        private void insert(int key, long sequence, T value) {
+            if (size < keys.length) {
+                keys[size] = key;
+                sequences[size] = sequence;
+                values[size] = value;
+                siftUp(size++);
+            } else if (size > 0 && compare(key, sequence, 0) < 0) {
+                keys[0] = key;
+                sequences[0] = sequence;
+                values[0] = value;
+                siftDown(0, size);
+            }
+        }
+
+        private int compare(int key, long sequence, int j) {
+            int c = Integer.compare(key, keys[j]);
+            return c != 0 ? c : Long.compare(sequence, sequences[j]);
+        }
+
+        private int compare(int i, int j) {
+            return compare(keys[i], sequences[i], j);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (compare(i, parent) <= 0) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i, int end) {
+            while (true) {
+                int largest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < end && compare(left, largest) > 0) {
+                    largest = left;
+                }
+                if (right < end && compare(right, largest) > 0) {
+                    largest = right;
+                }
+                if (largest == i) {
+                    return;
+                }
+                swap(i, largest);
+                i = largest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int key = keys[i];
+            keys[i] = keys[j];
+            keys[j] = key;
+            long sequence = sequences[i];
+            sequences[i] = sequences[j];
+            sequences[j] = sequence;
+            Object value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+}
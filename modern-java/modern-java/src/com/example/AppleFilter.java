@@ -0,0 +1,85 @@
+package com.example;
+
+import com.example.Main.Color;
+
+public abstract class AppleFilter {
+
+    AppleFilter() {}
+
+    // one bit per row of the 64-row block starting at base; bits past count are ignored by the caller
+    abstract long evaluateBlock(AppleInventory inventory, int base, int count);
+
+    public static AppleFilter colorIs(Color color) {
+        byte ordinal = (byte) color.ordinal();
+        return new AppleFilter() {
+            @Override
+            long evaluateBlock(AppleInventory inventory, int base, int count) {
+                byte[] colors = inventory.colors;
+                long bits = 0;
+                for (int i = 0; i < count; i++) {
+                    bits |= (colors[base + i] == ordinal ? 1L : 0L) << i;
+                }
+                return bits;
+            }
+        };
+    }
+
+    public static AppleFilter weightGreaterThan(int weight) {
+        return new AppleFilter() {
+            @Override
+            long evaluateBlock(AppleInventory inventory, int base, int count) {
+                int[] weights = inventory.weights;
+                long bits = 0;
+                for (int i = 0; i < count; i++) {
+                    bits |= (weights[base + i] > weight ? 1L : 0L) << i;
+                }
+                return bits;
+            }
+        };
+    }
+
+    public static AppleFilter weightLessThan(int weight) {
+        return new AppleFilter() {
+            @Override
+            long evaluateBlock(AppleInventory inventory, int base, int count) {
+                int[] weights = inventory.weights;
+                long bits = 0;
+                for (int i = 0; i < count; i++) {
+                    bits |= (weights[base + i] < weight ? 1L : 0L) << i;
+                }
+                return bits;
+            }
+        };
+    }
+
+    public AppleFilter and(AppleFilter other) {
+        AppleFilter self = this;
+        return new AppleFilter() {
+            @Override
+            long evaluateBlock(AppleInventory inventory, int base, int count) {
+                long bits = self.evaluateBlock(inventory, base, count);
+                return bits == 0 ? 0 : bits & other.evaluateBlock(inventory, base, count);
+            }
+        };
+    }
+
+    public AppleFilter or(AppleFilter other) {
+        AppleFilter self = this;
+        return new AppleFilter() {
+            @Override
+            long evaluateBlock(AppleInventory inventory, int base, int count) {
+                return self.evaluateBlock(inventory, base, count) | other.evaluateBlock(inventory, base, count);
+            }
+        };
+    }
+
+    public AppleFilter negate() {
+        AppleFilter self = this;
+        return new AppleFilter() {
+            @Override
+            long evaluateBlock(AppleInventory inventory, int base, int count) {
+                return ~self.evaluateBlock(inventory, base, count);
+            }
+        };
+    }
+}
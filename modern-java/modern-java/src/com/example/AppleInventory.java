@@ -0,0 +1,85 @@
+package com.example;
+
+import com.example.Main.Apple;
+import com.example.Main.Color;
+
+import java.util.Collection;
+import java.util.List;
+
+public class AppleInventory {
+    private static final Color[] COLORS = Color.values();
+    private static final byte NO_COLOR = -1;
+
+    private final Apple[] apples;
+    final byte[] colors;
+    final int[] weights;
+
+    public AppleInventory(List<Apple> inventory) {
+        int size = inventory.size();
+        this.apples = inventory.toArray(new Apple[0]);
+        this.colors = new byte[size];
+        this.weights = new int[size];
+        for (int i = 0; i < size; i++) {
+            Color color = apples[i].getColor();
+            colors[i] = color == null ? NO_COLOR : (byte) color.ordinal();
+            weights[i] = apples[i].getWeight();
+        }
+    }
+
+    public int size() {
+        return apples.length;
+    }
+
+    public Apple get(int index) {
+        return apples[index];
+    }
+
+    public int bitmapLength() {
+        return (apples.length + 63) >>> 6;
+    }
+
+    public int filter(AppleFilter filter, long[] bitmap) {
+        if (bitmap.length < bitmapLength()) {
+            throw new IllegalArgumentException("bitmap too small: " + bitmap.length + " < " + bitmapLength());
+        }
+        int matches = 0;
+        for (int word = 0, base = 0; base < apples.length; word++, base += 64) {
+            long bits = evaluateBlock(filter, base);
+            bitmap[word] = bits;
+            matches += Long.bitCount(bits);
+        }
+        return matches;
+    }
+
+    public int filter(AppleFilter filter, int[] indices) {
+        int matches = 0;
+        for (int word = 0, base = 0; base < apples.length; word++, base += 64) {
+            long bits = evaluateBlock(filter, base);
+            while (bits != 0) {
+                if (matches == indices.length) {
+                    throw new IllegalArgumentException("indices buffer too small: " + indices.length);
+                }
+                indices[matches++] = base + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return matches;
+    }
+
+    public <C extends Collection<? super Apple>> C filter(AppleFilter filter, C result) {
+        for (int word = 0, base = 0; base < apples.length; word++, base += 64) {
+            long bits = evaluateBlock(filter, base);
+            while (bits != 0) {
+                result.add(apples[base + Long.numberOfTrailingZeros(bits)]);
+                bits &= bits - 1;
+            }
+        }
+        return result;
+    }
+
+    private long evaluateBlock(AppleFilter filter, int base) {
+        int count = Math.min(64, apples.length - base);
+        long mask = count == 64 ? -1L : (1L << count) - 1;
+        return filter.evaluateBlock(this, base, count) & mask;
+    }
+}
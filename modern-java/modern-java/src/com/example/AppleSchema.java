@@ -0,0 +1,70 @@
+package com.example;
+
+import com.common.FieldSchema;
+import com.example.Main.Apple;
+import com.example.Main.Color;
+
+import java.lang.reflect.Method;
+
+public final class AppleSchema implements FieldSchema<Apple> {
+    public static final AppleSchema INSTANCE = new AppleSchema();
+
+    private static final int COLOR = 0;
+    private static final int WEIGHT = 1;
+    private static final Method[] ACCESSORS = {accessor("color"), accessor("weight")};
+
+    private AppleSchema() {}
+
+    @Override
+    public int fieldIndex(String name) {
+        switch (name) {
+            case "color":
+                return COLOR;
+            case "weight":
+                return WEIGHT;
+            default:
+                return UNKNOWN_FIELD;
+        }
+    }
+
+    @Override
+    public int constant(int field, String name) {
+        if (field != COLOR) {
+            throw new IllegalArgumentException("field has no named constants: " + name);
+        }
+        return Color.valueOf(name).ordinal();
+    }
+
+    @Override
+    public int read(Apple apple, int field) {
+        switch (field) {
+            case COLOR:
+                return color(apple);
+            case WEIGHT:
+                return weight(apple);
+            default:
+                throw new IllegalArgumentException("field: " + field);
+        }
+    }
+
+    @Override
+    public Method accessor(int field) {
+        return ACCESSORS[field];
+    }
+
+    public static int color(Apple apple) {
+        return apple.getColor() == null ? -1 : apple.getColor().ordinal();
+    }
+
+    public static int weight(Apple apple) {
+        return apple.getWeight();
+    }
+
+    private static Method accessor(String name) {
+        try {
+            return AppleSchema.class.getMethod(name, Apple.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example;
 
+import com.common.PredicateCompiler;
+
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -12,7 +14,7 @@ import java.util.function.ToIntBiFunction;
 
 public class Main {
     private static int number;
-    private static class Apple{
+    public static class Apple{
         private Color color;
         private int weight;
 
@@ -41,7 +43,7 @@ public class Main {
             this.color = color;
         }
     }
-    private enum Color{
+    public enum Color{
         RED, GREEN
     }
 
@@ -58,6 +60,14 @@ public class Main {
         Predicate<Apple> keyEventDispatcher = apple -> Color.GREEN.equals(apple.getColor());
         List<Apple> redApples = filterApples(inventory, keyEventDispatcher.negate());
 
+        AppleInventory appleInventory = new AppleInventory(inventory);
+        AppleFilter isGreen = AppleFilter.colorIs(Color.GREEN);
+        long[] matches = new long[appleInventory.bitmapLength()];
+        int greenCount = appleInventory.filter(isGreen, matches);
+        List<Apple> heavyRedApples = appleInventory.filter(isGreen.negate().and(AppleFilter.weightGreaterThan(2)), new ArrayList<>());
+
+        List<Apple> heavyRedApples2 = filterApples(inventory, PredicateCompiler.compile(AppleSchema.INSTANCE, "color != GREEN && weight > 2"));
+
 
     }
 
@@ -0,0 +1,96 @@
+package com.example3;
+
+import com.example3.Main3.BufferedReaderProcessor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+// each file is read and processed on a worker, so one file's I/O overlaps with another's processing.
+// at most maxInFlightFiles files are queued or running: the submitting thread takes a permit before
+// handing a file to the pool and blocks when none is left, so a large directory never floods the queue
+public class AsyncFileProcessor implements AutoCloseable {
+    private final ExecutorService workers;
+    private final Semaphore inFlight;
+
+    public AsyncFileProcessor(int workers, int maxInFlightFiles) {
+        if (workers <= 0 || maxInFlightFiles <= 0) {
+            throw new IllegalArgumentException("workers: " + workers + ", maxInFlightFiles: " + maxInFlightFiles);
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "file-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.inFlight = new Semaphore(maxInFlightFiles);
+    }
+
+    // blocks while maxInFlightFiles files are pending; must not be called from the processor itself
+    public CompletableFuture<String> processFile(Path path, BufferedReaderProcessor processor)
+            throws InterruptedException {
+        inFlight.acquire();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try (BufferedReader reader = Files.newBufferedReader(path, Charset.defaultCharset())) {
+                    return processor.process(reader);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(path.toString(), e);
+                }
+            }, workers).whenComplete((result, failure) -> inFlight.release());
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    public CompletableFuture<Map<Path, String>> processDirectory(Path directory, BufferedReaderProcessor processor)
+            throws IOException, InterruptedException {
+        Map<Path, String> results = new ConcurrentHashMap<>();
+        return processDirectory(directory, processor, results::put).thenApply(done -> results);
+    }
+
+    // sink runs on the workers as each file finishes and must be thread-safe; results are not retained
+    public CompletableFuture<Void> processDirectory(Path directory, BufferedReaderProcessor processor,
+                                                    BiConsumer<Path, String> sink)
+            throws IOException, InterruptedException {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) paths.filter(Files::isRegularFile)::iterator) {
+                futures.add(processFile(file, processor).thenAccept(result -> sink.accept(file, result)));
+            }
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    public static <T> T join(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        workers.shutdown();
+    }
+}
@@ -0,0 +1,180 @@
+package com.example3;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// reads through FileChannel into pooled direct buffers; each line is handed over as a reusable view,
+// valid only during the callback (call toString() to keep it). lines end at '\n', '\r' or "\r\n",
+// as with BufferedReader.readLine
+public final class ChannelFileProcessor {
+    private static final int BYTE_BUFFER_SIZE = 64 * 1024;
+    private static final int CHAR_BUFFER_SIZE = 64 * 1024;
+    private static final ConcurrentLinkedQueue<Buffers> POOL = new ConcurrentLinkedQueue<>();
+
+    private ChannelFileProcessor() {}
+
+    @FunctionalInterface
+    public interface LineProcessor {
+        void process(CharSequence line) throws IOException;
+    }
+
+    public static long forEachLine(Path path, LineProcessor processor) throws IOException {
+        return forEachLine(path, Charset.defaultCharset(), processor);
+    }
+
+    public static long forEachLine(Path path, Charset charset, LineProcessor processor) throws IOException {
+        Buffers buffers = borrow(charset);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel, buffers, processor);
+        } finally {
+            buffers.shrink();
+            POOL.offer(buffers);
+        }
+    }
+
+    private static long read(FileChannel channel, Buffers buffers, LineProcessor processor) throws IOException {
+        ByteBuffer bytes = buffers.bytes;
+        CharsetDecoder decoder = buffers.decoder;
+        LineView line = buffers.line;
+        long lines = 0;
+        boolean skipLineFeed = false;
+        boolean endOfInput = false;
+        while (!endOfInput) {
+            endOfInput = channel.read(bytes) < 0;
+            bytes.flip();
+            CoderResult result = decoder.decode(bytes, buffers.chars, endOfInput);
+            if (endOfInput && !result.isOverflow()) {
+                decoder.flush(buffers.chars);
+            }
+            bytes.compact();
+            CharBuffer chars = buffers.chars;
+            chars.flip();
+            char[] array = chars.array();
+            int start = chars.position();
+            int limit = chars.limit();
+            for (int i = start; i < limit; i++) {
+                char c = array[i];
+                if (skipLineFeed) {
+                    skipLineFeed = false;
+                    // the '\n' of a "\r\n" whose '\r' already ended the line, possibly in the previous chunk
+                    if (c == '\n') {
+                        start = i + 1;
+                        continue;
+                    }
+                }
+                if (c == '\n' || c == '\r') {
+                    processor.process(line.set(array, start, i));
+                    lines++;
+                    start = i + 1;
+                    skipLineFeed = c == '\r';
+                }
+            }
+            chars.position(start);
+            if (endOfInput && result.isOverflow()) {
+                endOfInput = false;
+            }
+            if (endOfInput) {
+                if (start < limit) {
+                    processor.process(line.set(array, start, limit));
+                    lines++;
+                }
+                chars.clear();
+            } else if (start == chars.arrayOffset() && limit == chars.capacity()) {
+                buffers.grow();
+            } else {
+                chars.compact();
+            }
+        }
+        return lines;
+    }
+
+    private static Buffers borrow(Charset charset) {
+        Buffers buffers = POOL.poll();
+        if (buffers == null) {
+            buffers = new Buffers();
+        }
+        buffers.reset(charset);
+        return buffers;
+    }
+
+    private static final class Buffers {
+        private final ByteBuffer bytes = ByteBuffer.allocateDirect(BYTE_BUFFER_SIZE);
+        private CharBuffer chars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+        private CharsetDecoder decoder;
+        private final LineView line = new LineView();
+
+        void reset(Charset charset) {
+            bytes.clear();
+            chars.clear();
+            if (decoder == null || !decoder.charset().equals(charset)) {
+                decoder = charset.newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            } else {
+                decoder.reset();
+            }
+        }
+
+        // a single line does not fit: keep its prefix and double the buffer
+        void grow() {
+            CharBuffer larger = CharBuffer.allocate(chars.capacity() * 2);
+            larger.put(chars);
+            chars = larger;
+        }
+
+        // a buffer grown for one huge line is not worth pooling
+        void shrink() {
+            if (chars.capacity() > CHAR_BUFFER_SIZE) {
+                chars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+            }
+        }
+    }
+
+    private static final class LineView implements CharSequence {
+        private char[] array;
+        private int start;
+        private int end;
+
+        LineView set(char[] array, int start, int end) {
+            this.array = array;
+            this.start = start;
+            this.end = end;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= end - start) {
+                throw new IndexOutOfBoundsException("index: " + index);
+            }
+            return array[start + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            if (from < 0 || to > end - start || from > to) {
+                throw new IndexOutOfBoundsException("from: " + from + ", to: " + to);
+            }
+            return new String(array, start + from, to - from);
+        }
+
+        @Override
+        public String toString() {
+            return new String(array, start, end - start);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example3;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// power-of-two buckets: bucket i counts samples in [2^(i-1), 2^i) nanoseconds
+public class LatencyHistogram {
+    private final LongAdder[] buckets = new LongAdder[64];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets[Math.min(63, 64 - Long.numberOfLeadingZeros(value))].increment();
+        count.increment();
+        total.add(value);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public double meanNanos() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : (double) total.sum() / n;
+    }
+
+    // upper bound of the bucket holding the given percentile
+    public long percentileNanos(double percentile) {
+        long n = count.sum();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(n * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i].sum();
+            if (seen >= rank) {
+                return i == 0 ? 0 : (1L << i) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{" +
+                "count=" + count() +
+                ", meanNanos=" + (long) meanNanos() +
+                ", p50=" + percentileNanos(50) +
+                ", p99=" + percentileNanos(99) +
+                ", p999=" + percentileNanos(99.9) +
+                '}';
+    }
+}
@@ -1,6 +1,10 @@
 package com.example3;
 
+import java.util.regex.Pattern;
+
 public class Letter {
+    private static final Pattern LABDA = Pattern.compile("labda");
+
     public static String addHeader(String text){
         return "header : " + text;
     }
@@ -10,6 +14,6 @@ public class Letter {
     }
 
     public static String checkSpelling(String text) {
-        return text.replaceAll("labda", "lambda");
+        return LABDA.matcher(text).replaceAll("lambda");
     }
 }
@@ -0,0 +1,192 @@
+package com.example3;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// at most maxInFlight letters are queued or running; the producer blocks until a slot frees up.
+// latency starts just before the producer waits for a slot, so it includes that wait and the time spent
+// in the executor queue, but not the sink calls the producer makes for earlier letters in ordered mode
+public class LetterBatchProcessor implements AutoCloseable {
+    private static final Duration DEFAULT_THROUGHPUT_WINDOW = Duration.ofMillis(100);
+
+    private final Function<String, String> transformation;
+    private final ExecutorService executor;
+    private final int maxInFlight;
+    private final long windowNanos;
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    public LetterBatchProcessor(Function<String, String> transformation, int workers, int maxInFlight) {
+        this(transformation, workers, maxInFlight, DEFAULT_THROUGHPUT_WINDOW);
+    }
+
+    public LetterBatchProcessor(Function<String, String> transformation, int workers, int maxInFlight,
+                                Duration throughputWindow) {
+        if (workers <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("workers: " + workers + ", maxInFlight: " + maxInFlight);
+        }
+        if (throughputWindow.isNegative() || throughputWindow.isZero()) {
+            throw new IllegalArgumentException("throughputWindow: " + throughputWindow);
+        }
+        this.transformation = transformation;
+        this.maxInFlight = maxInFlight;
+        this.windowNanos = throughputWindow.toNanos();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "letter-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // ordered: sink runs on the calling thread in input order; unordered: sink runs on workers and must be thread-safe
+    public BatchResult process(Stream<String> letters, Consumer<String> sink, boolean ordered) throws InterruptedException {
+        long start = System.nanoTime();
+        AtomicInteger processed = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Map<Long, LongAdder> completedPerWindow = new ConcurrentHashMap<>();
+        Semaphore slots = new Semaphore(maxInFlight);
+        Deque<Future<String>> pending = new ArrayDeque<>();
+        try {
+            for (String letter : (Iterable<String>) letters::iterator) {
+                if (failure.get() != null) {
+                    break;
+                }
+                if (ordered) {
+                    while (!pending.isEmpty() && (pending.size() >= maxInFlight || pending.peekFirst().isDone())) {
+                        sink.accept(await(pending.pollFirst()));
+                    }
+                }
+                long taken = System.nanoTime();
+                slots.acquire();
+                Future<String> future = executor.submit(() -> {
+                    try {
+                        String result = transformation.apply(letter);
+                        long done = System.nanoTime();
+                        latency.record(done - taken);
+                        completedPerWindow.computeIfAbsent((done - start) / windowNanos, window -> new LongAdder())
+                                .increment();
+                        if (!ordered) {
+                            sink.accept(result);
+                        }
+                        processed.incrementAndGet();
+                        return result;
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                        throw e;
+                    } finally {
+                        slots.release();
+                    }
+                });
+                if (ordered) {
+                    pending.addLast(future);
+                }
+            }
+            while (!pending.isEmpty()) {
+                sink.accept(await(pending.pollFirst()));
+            }
+            slots.acquire(maxInFlight);
+            slots.release(maxInFlight);
+            rethrow(failure.get());
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+        long elapsed = System.nanoTime() - start;
+        return new BatchResult(processed.get(), elapsed, throughput(completedPerWindow, elapsed));
+    }
+
+    private ThroughputHistogram throughput(Map<Long, LongAdder> completedPerWindow, long elapsed) {
+        long windows = (elapsed + windowNanos - 1) / windowNanos;
+        for (long window : completedPerWindow.keySet()) {
+            windows = Math.max(windows, window + 1);
+        }
+        long[] counts = new long[Math.toIntExact(windows)];
+        completedPerWindow.forEach((window, count) -> counts[Math.toIntExact(window)] = count.sum());
+        return new ThroughputHistogram(windowNanos, elapsed, counts);
+    }
+
+    private static String await(Future<String> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            rethrow(e.getCause());
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // the transformation is a Function, so anything it throws is unchecked
+    private static void rethrow(Throwable failure) {
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw new IllegalStateException(failure);
+        }
+    }
+
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    public static final class BatchResult {
+        private final int letters;
+        private final long elapsedNanos;
+        private final ThroughputHistogram throughput;
+
+        private BatchResult(int letters, long elapsedNanos, ThroughputHistogram throughput) {
+            this.letters = letters;
+            this.elapsedNanos = elapsedNanos;
+            this.throughput = throughput;
+        }
+
+        public int getLetters() {
+            return letters;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double lettersPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : letters * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        public ThroughputHistogram throughput() {
+            return throughput;
+        }
+
+        @Override
+        public String toString() {
+            return "BatchResult{" +
+                    "letters=" + letters +
+                    ", elapsedNanos=" + elapsedNanos +
+                    ", lettersPerSecond=" + (long) lettersPerSecond() +
+                    ", throughput=" + throughput +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example3;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// header/footer/replace steps compiled once: replacements are applied to the constant headers and footers
+// at build time, and the letter body is scanned once for all targets while being written to the output.
+// Replacements run simultaneously, so a match spanning a header and the body, or a replacement that
+// produces another step's target, is not rewritten the way a chain of replaceAll calls would.
+public final class LetterPipeline implements Function<String, String> {
+    public static final LetterPipeline STANDARD = builder()
+            .addHeader("header : ")
+            .replace("labda", "lambda")
+            .addFooter(" Kind regars")
+            .build();
+
+    private final String header;
+    private final String footer;
+    private final String[][][] asciiReplacements = new String[128][][];
+    private final Map<Character, String[][]> otherReplacements = new HashMap<>();
+    private final boolean hasReplacements;
+
+    private LetterPipeline(String header, String footer, Map<Character, String[][]> replacementsByFirstChar) {
+        this.header = header;
+        this.footer = footer;
+        this.hasReplacements = !replacementsByFirstChar.isEmpty();
+        replacementsByFirstChar.forEach((c, candidates) -> {
+            if (c < asciiReplacements.length) {
+                asciiReplacements[c] = candidates;
+            } else {
+                otherReplacements.put(c, candidates);
+            }
+        });
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public String apply(String text) {
+        StringBuilder out = new StringBuilder(header.length() + text.length() + footer.length() + 16);
+        writeTo(text, out);
+        return out.toString();
+    }
+
+    public void writeTo(CharSequence text, StringBuilder out) {
+        try {
+            writeTo(text, (Appendable) out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void writeTo(CharSequence text, Appendable out) throws IOException {
+        out.append(header);
+        int copied = 0;
+        int i = 0;
+        while (i < text.length()) {
+            String[] match = hasReplacements ? match(text, i) : null;
+            if (match == null) {
+                i++;
+                continue;
+            }
+            out.append(text, copied, i).append(match[1]);
+            i += match[0].length();
+            copied = i;
+        }
+        out.append(text, copied, text.length());
+        out.append(footer);
+    }
+
+    private String[] match(CharSequence text, int position) {
+        char c = text.charAt(position);
+        String[][] candidates = c < asciiReplacements.length ? asciiReplacements[c] : otherReplacements.get(c);
+        if (candidates == null) {
+            return null;
+        }
+        for (String[] candidate : candidates) {
+            if (regionMatches(text, position, candidate[0])) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static boolean regionMatches(CharSequence text, int position, String target) {
+        if (position + target.length() > text.length()) {
+            return false;
+        }
+        for (int i = 0; i < target.length(); i++) {
+            if (text.charAt(position + i) != target.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static final class Builder {
+        private String header = "";
+        private String footer = "";
+        private final List<String[]> replacements = new ArrayList<>();
+
+        private Builder() {}
+
+        public Builder addHeader(String prefix) {
+            header = prefix + header;
+            return this;
+        }
+
+        public Builder addFooter(String suffix) {
+            footer = footer + suffix;
+            return this;
+        }
+
+        public Builder replace(String target, String replacement) {
+            if (target.isEmpty()) {
+                throw new IllegalArgumentException("target must not be empty");
+            }
+            header = header.replace(target, replacement);
+            footer = footer.replace(target, replacement);
+            replacements.add(new String[]{target, replacement});
+            return this;
+        }
+
+        public LetterPipeline build() {
+            Map<Character, List<String[]>> grouped = new HashMap<>();
+            for (String[] replacement : replacements) {
+                grouped.computeIfAbsent(replacement[0].charAt(0), c -> new ArrayList<>()).add(replacement);
+            }
+            Map<Character, String[][]> byFirstChar = new HashMap<>();
+            grouped.forEach((c, list) -> byFirstChar.put(c, list.toArray(new String[0][])));
+            return new LetterPipeline(header, footer, byFirstChar);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
 import java.nio.file.DirectoryStream;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -94,6 +95,10 @@ public class Main3 {
     }
 
 
+    public static long processLines(ChannelFileProcessor.LineProcessor p) throws IOException{
+        return ChannelFileProcessor.forEachLine(Paths.get("data.txt"), p);
+    }
+
     public static String processFile() throws IOException{
         try(BufferedReader br = new BufferedReader(new FileReader("data.txt"))){
             return br.readLine();
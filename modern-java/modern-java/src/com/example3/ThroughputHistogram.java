@@ -0,0 +1,59 @@
+package com.example3;
+
+import java.util.Arrays;
+
+// letters completed per fixed window of one batch; percentiles are taken over the per-window rates,
+// so a low percentile shows the slowest stretches of the batch rather than its average
+public final class ThroughputHistogram {
+    private final long windowNanos;
+    private final long elapsedNanos;
+    private final long[] counts;
+
+    ThroughputHistogram(long windowNanos, long elapsedNanos, long[] counts) {
+        this.windowNanos = windowNanos;
+        this.elapsedNanos = elapsedNanos;
+        this.counts = counts;
+    }
+
+    public long windowNanos() {
+        return windowNanos;
+    }
+
+    public int windows() {
+        return counts.length;
+    }
+
+    public long count(int window) {
+        return counts[window];
+    }
+
+    // the last window is usually partial and is rated over its actual length
+    public double lettersPerSecond(int window) {
+        long length = Math.min(windowNanos, elapsedNanos - window * windowNanos);
+        return length <= 0 ? 0.0 : counts[window] * 1_000_000_000.0 / length;
+    }
+
+    public double percentileLettersPerSecond(double percentile) {
+        if (counts.length == 0) {
+            return 0.0;
+        }
+        double[] rates = new double[counts.length];
+        for (int i = 0; i < rates.length; i++) {
+            rates[i] = lettersPerSecond(i);
+        }
+        Arrays.sort(rates);
+        int rank = (int) Math.ceil(rates.length * percentile / 100.0);
+        return rates[Math.max(0, Math.min(rates.length, rank) - 1)];
+    }
+
+    @Override
+    public String toString() {
+        return "ThroughputHistogram{" +
+                "windows=" + windows() +
+                ", windowMillis=" + windowNanos / 1_000_000 +
+                ", p1=" + (long) percentileLettersPerSecond(1) +
+                ", p50=" + (long) percentileLettersPerSecond(50) +
+                ", p99=" + (long) percentileLettersPerSecond(99) +
+                '}';
+    }
+}
@@ -0,0 +1,63 @@
+package test;
+
+import com.common.Dish;
+import com.common.TopN;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 2, jvmArgs = {"-Xms4G", "-Xmx4G"})
+public class Chapter4Benchmark {
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    private List<Dish> menu;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        menu = Menus.dishes(size);
+    }
+
+    @Benchmark
+    public List<String> lowCaloricDishesName() {
+        return menu.stream()
+                .filter(d -> d.getCalories() < 400)
+                .sorted(comparing(Dish::getCalories))
+                .map(Dish::getName)
+                .collect(toList());
+    }
+
+    @Benchmark
+    public List<String> firstThreeHighCaloric() {
+        return menu.stream()
+                .filter(dish -> dish.getCalories() > 300)
+                .map(Dish::getName)
+                .limit(3)
+                .collect(toList());
+    }
+
+    @Benchmark
+    public List<Dish> tenLowestCaloricSorted() {
+        return menu.stream()
+                .sorted(comparing(Dish::getCalories))
+                .limit(10)
+                .collect(toList());
+    }
+
+    @Benchmark
+    public List<Dish> tenLowestCaloricTopN() {
+        return menu.stream().collect(TopN.topN(10, comparing(Dish::getCalories)));
+    }
+
+    @Benchmark
+    public List<Dish> tenLowestCaloricTopNByInt() {
+        return menu.stream().collect(TopN.topNByInt(10, Dish::getCalories));
+    }
+}
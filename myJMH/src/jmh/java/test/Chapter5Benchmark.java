@@ -0,0 +1,73 @@
+package test;
+
+import com.chapter5.Delimiters;
+import com.chapter5.Tokenizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 2, jvmArgs = {"-Xms4G", "-Xmx4G"})
+public class Chapter5Benchmark {
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    private List<String> lines;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        lines = Menus.lines(size, 10);
+    }
+
+    @Benchmark
+    public long uniqueWords() {
+        return lines.stream()
+                .flatMap(line -> Arrays.stream(line.split(" ")))
+                .distinct()
+                .count();
+    }
+
+    @Benchmark
+    public long evenSquaresBoxed() {
+        return IntStream.rangeClosed(1, size)
+                .filter(num -> num % 2 == 0)
+                .boxed()
+                .map(num -> new int[]{num, num * num})
+                .count();
+    }
+
+    @Benchmark
+    public long evenSquaresMapToObj() {
+        return IntStream.rangeClosed(1, size)
+                .filter(num -> num % 2 == 0)
+                .mapToObj(num -> new int[]{num, num * num})
+                .count();
+    }
+
+    @Benchmark
+    public long uniqueWordsTokenizer() {
+        return lines.stream()
+                .flatMap(line -> Tokenizer.words(line, Delimiters.SPACE))
+                .distinct()
+                .count();
+    }
+
+    @Benchmark
+    public long wordCountSplit() {
+        return lines.stream()
+                .flatMap(line -> Arrays.stream(line.split(" ")))
+                .count();
+    }
+
+    @Benchmark
+    public long wordCountTokens() {
+        return lines.stream()
+                .mapToLong(line -> Tokenizer.countTokens(line, Delimiters.SPACE))
+                .sum();
+    }
+}
@@ -0,0 +1,77 @@
+package test;
+
+import com.chapter6.TypeCollectors;
+import com.common.Dish;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 2, jvmArgs = {"-Xms4G", "-Xmx4G"})
+public class Chapter6Benchmark {
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    private List<Dish> menu;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        menu = Menus.dishes(size);
+    }
+
+    @Benchmark
+    public Map<Dish.Type, List<Dish>> caloricDishedByType() {
+        return menu.stream()
+                .collect(groupingBy(Dish::getType, filtering(dish -> dish.getCalories() > 500, toList())));
+    }
+
+    @Benchmark
+    public Map<Dish.Type, Dish> mostCaloricByType() {
+        return menu.stream()
+                .collect(groupingBy(Dish::getType,
+                        collectingAndThen(
+                                maxBy(Comparator.comparingInt(Dish::getCalories)),
+                                Optional::get
+                        )));
+    }
+
+    @Benchmark
+    public Map<Dish.Type, Integer> totalCaloriesByType() {
+        return menu.stream()
+                .collect(groupingBy(Dish::getType, summingInt(Dish::getCalories)));
+    }
+
+    @Benchmark
+    public Map<Boolean, List<Dish>> partitionedMenu() {
+        return menu.stream().collect(partitioningBy(Dish::isVegetarian));
+    }
+
+    @Benchmark
+    public Map<Boolean, Map<Dish.Type, List<Dish>>> vegetarianDishesByType() {
+        return menu.stream()
+                .collect(partitioningBy(Dish::isVegetarian, groupingBy(Dish::getType)));
+    }
+
+    @Benchmark
+    public Map<Dish.Type, Dish> mostCaloricByTypeSlots() {
+        return menu.stream().collect(TypeCollectors.maxByType(Dish::getCalories));
+    }
+
+    @Benchmark
+    public Map<Dish.Type, Long> totalCaloriesByTypeSlots() {
+        return menu.stream().collect(TypeCollectors.sumByType(Dish::getCalories));
+    }
+
+    @Benchmark
+    public Map<Boolean, Map<Dish.Type, Long>> vegetarianCountByTypeSlots() {
+        return menu.stream().collect(TypeCollectors.partitionAndCountByType(Dish::isVegetarian));
+    }
+}
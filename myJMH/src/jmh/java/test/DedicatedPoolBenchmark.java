@@ -0,0 +1,45 @@
+package test;
+
+import com.chapter7.DedicatedForkJoinPool;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 2, jvmArgs = {"-Xms4G", "-Xmx4G"})
+public class DedicatedPoolBenchmark {
+    private static final long N = 10_000_000L;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private DedicatedForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new DedicatedForkJoinPool("benchmark", parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Benchmark
+    public void commonPoolRangedSum(Blackhole bh) {
+        bh.consume(LongStream.rangeClosed(1, N)
+                .parallel()
+                .reduce(0L, Long::sum));
+    }
+
+    @Benchmark
+    public void dedicatedPoolRangedSum(Blackhole bh) {
+        bh.consume(pool.invoke(() -> LongStream.rangeClosed(1, N)
+                .parallel()
+                .reduce(0L, Long::sum)));
+    }
+}
@@ -0,0 +1,49 @@
+package test;
+
+import com.chapter5.HyperLogLog;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 2, jvmArgs = {"-Xms4G", "-Xmx4G"})
+public class DistinctCountBenchmark {
+    @Param({"1000", "100000", "10000000"})
+    private int size;
+
+    @Param({"10", "14", "18"})
+    private int precision;
+
+    private List<String> lines;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        lines = Menus.lines(size, 10);
+    }
+
+    @Benchmark
+    public long exactDistinct() {
+        return lines.stream()
+                .flatMap(line -> Arrays.stream(line.split(" ")))
+                .distinct()
+                .count();
+    }
+
+    @Benchmark
+    public long approximateDistinct() {
+        return lines.stream()
+                .flatMap(line -> Arrays.stream(line.split(" ")))
+                .collect(HyperLogLog.approximateDistinct(precision));
+    }
+
+    @Benchmark
+    public long approximateDistinctParallel() {
+        return lines.parallelStream()
+                .flatMap(line -> Arrays.stream(line.split(" ")))
+                .collect(HyperLogLog.approximateDistinct(precision));
+    }
+}
@@ -0,0 +1,84 @@
+package test;
+
+import com.example3.AsyncFileProcessor;
+import com.example3.Main3.BufferedReaderProcessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 2, jvmArgs = {"-Xms4G", "-Xmx4G"})
+public class FileProcessingBenchmark {
+    private static final BufferedReaderProcessor COUNT_LINES = br -> String.valueOf(br.lines().count());
+
+    // "files:linesPerFile"
+    @Param({"2000:20", "4:400000"})
+    private String layout;
+
+    @Param({"4"})
+    private int workers;
+
+    private Path directory;
+    private List<Path> files;
+    private AsyncFileProcessor processor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String[] parts = layout.split(":");
+        int fileCount = Integer.parseInt(parts[0]);
+        int linesPerFile = Integer.parseInt(parts[1]);
+        directory = Files.createTempDirectory("file-processing");
+        List<String> lines = Menus.lines(linesPerFile * 10, 10);
+        for (int i = 0; i < fileCount; i++) {
+            try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve("letter" + i + ".txt"))) {
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+        }
+        try (Stream<Path> paths = Files.list(directory)) {
+            files = paths.collect(Collectors.toList());
+        }
+        processor = new AsyncFileProcessor(workers, workers * 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        processor.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public long sequentialLoop() throws IOException {
+        long total = 0;
+        for (Path file : files) {
+            try (BufferedReader br = Files.newBufferedReader(file, Charset.defaultCharset())) {
+                total += Long.parseLong(COUNT_LINES.process(br));
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Map<Path, String> asyncDirectory() throws IOException, InterruptedException {
+        return AsyncFileProcessor.join(processor.processDirectory(directory, COUNT_LINES));
+    }
+}
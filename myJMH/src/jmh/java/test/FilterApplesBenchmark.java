@@ -0,0 +1,80 @@
+package test;
+
+import com.common.PredicateCompiler;
+import com.example.AppleFilter;
+import com.example.AppleInventory;
+import com.example.AppleSchema;
+import com.example.Main;
+import com.example.Main.Apple;
+import com.example.Main.Color;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 2, jvmArgs = {"-Xms4G", "-Xmx4G"})
+public class FilterApplesBenchmark {
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    private List<Apple> inventory;
+    private final Predicate<Apple> isGreen = apple -> Color.GREEN.equals(apple.getColor());
+    private final AppleFilter greenFilter = AppleFilter.colorIs(Color.GREEN);
+    private final AppleFilter heavyRedFilter = greenFilter.negate().and(AppleFilter.weightGreaterThan(150));
+
+    private AppleInventory columns;
+    private long[] bitmap;
+    private int[] indices;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        inventory = Menus.apples(size);
+        columns = new AppleInventory(inventory);
+        bitmap = new long[columns.bitmapLength()];
+        indices = new int[size];
+    }
+
+    @Benchmark
+    public List<Apple> filterApples() {
+        return Main.filterApples(inventory, isGreen);
+    }
+
+    @Benchmark
+    public List<Apple> filterApplesNegate() {
+        return Main.filterApples(inventory, isGreen.negate());
+    }
+
+    @Benchmark
+    public List<Apple> filterApplesByColor() {
+        return Main.filterApplesByColor(inventory, Color.GREEN);
+    }
+
+    @Benchmark
+    public List<Apple> filterApplesByFlag() {
+        return Main.filterApples(inventory, Color.GREEN, 150, false);
+    }
+
+    @Benchmark
+    public int filterToBitmap() {
+        return columns.filter(greenFilter, bitmap);
+    }
+
+    @Benchmark
+    public int filterComposedToIndices() {
+        return columns.filter(heavyRedFilter, indices);
+    }
+
+    @Benchmark
+    public List<Apple> filterComposedPredicate() {
+        return Main.filterApples(inventory, isGreen.negate().and(apple -> apple.getWeight() > 150));
+    }
+
+    @Benchmark
+    public List<Apple> filterCompiledPredicate() {
+        return Main.filterApples(inventory, PredicateCompiler.compile(AppleSchema.INSTANCE, "color != GREEN && weight > 150"));
+    }
+}
@@ -0,0 +1,67 @@
+package test;
+
+import com.chapter7.CalorieStatisticsTask;
+import com.chapter7.IntArraySpliterator;
+import com.chapter7.WordCounter;
+import com.chapter7.WordCounterSpliterator;
+import com.common.Dish;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 2, jvmArgs = {"-Xms4G", "-Xmx4G"})
+public class ForkJoinBenchmark {
+    @Param({"1000", "100000", "10000000"})
+    private int size;
+
+    @Param({"1000", "10000", "100000"})
+    private int threshold;
+
+    private List<Dish> menu;
+    private Dish[] dishes;
+    private int[] calories;
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        menu = Menus.dishes(size);
+        dishes = menu.toArray(new Dish[0]);
+        calories = menu.stream().mapToInt(Dish::getCalories).toArray();
+        text = String.join("\n", Menus.lines(size, 10));
+    }
+
+    @Benchmark
+    public IntSummaryStatistics forkJoinStatistics() {
+        return ForkJoinPool.commonPool().invoke(new CalorieStatisticsTask(dishes, threshold));
+    }
+
+    @Benchmark
+    public IntSummaryStatistics parallelStreamStatistics() {
+        return menu.parallelStream().mapToInt(Dish::getCalories).summaryStatistics();
+    }
+
+    @Benchmark
+    public long spliteratorSum() {
+        return StreamSupport.intStream(new IntArraySpliterator(calories, threshold), true).asLongStream().sum();
+    }
+
+    @Benchmark
+    public long arraysStreamSum() {
+        return Arrays.stream(calories).parallel().asLongStream().sum();
+    }
+
+    @Benchmark
+    public int wordCounterSpliterator() {
+        return StreamSupport.stream(new WordCounterSpliterator(text, threshold), true)
+                .reduce(new WordCounter(0, true), WordCounter::accumulate, WordCounter::combine)
+                .getCounter();
+    }
+}
@@ -0,0 +1,39 @@
+package test;
+
+import com.example3.Letter;
+import com.example3.LetterPipeline;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 2, jvmArgs = {"-Xms4G", "-Xmx4G"})
+public class LetterBenchmark {
+    @Param({"10", "1000", "100000"})
+    private int words;
+
+    private String text;
+    private final Function<String, String> chain = ((Function<String, String>) Letter::addHeader)
+            .andThen(Letter::checkSpelling)
+            .andThen(Letter::addFooter);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> lines = Menus.lines(words, 10);
+        text = String.join(" labda\n", lines);
+    }
+
+    @Benchmark
+    public String andThenChain() {
+        return chain.apply(text);
+    }
+
+    @Benchmark
+    public String compiledPipeline() {
+        return LetterPipeline.STANDARD.apply(text);
+    }
+}
@@ -0,0 +1,64 @@
+package test;
+
+import com.common.Dish;
+import com.example.Main.Apple;
+import com.example.Main.Color;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+final class Menus {
+    private static final String[] NAMES = {
+            "pork", "beef", "chicken", "french fries", "rice",
+            "season fruit", "pizza", "prawns", "salmon"
+    };
+    private static final Dish.Type[] TYPES = Dish.Type.values();
+    private static final Color[] COLORS = Color.values();
+
+    private Menus() {}
+
+    static List<Dish> dishes(int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Dish> menu = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            menu.add(new Dish(NAMES[random.nextInt(NAMES.length)] + i,
+                    random.nextBoolean(),
+                    random.nextInt(100, 1000),
+                    TYPES[random.nextInt(TYPES.length)]));
+        }
+        return menu;
+    }
+
+    static List<Apple> apples(int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Apple> inventory = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            inventory.add(new Apple(COLORS[random.nextInt(COLORS.length)], random.nextInt(1, 300)));
+        }
+        return inventory;
+    }
+
+    // Zipf-ish vocabulary so distinct() sees repeats as in real text
+    static List<String> lines(int words, int wordsPerLine) {
+        SplittableRandom random = new SplittableRandom(42);
+        int vocabulary = Math.max(16, (int) Math.sqrt(words) * 8);
+        List<String> lines = new ArrayList<>(words / wordsPerLine + 1);
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            int rank = (int) (vocabulary * Math.pow(random.nextDouble(), 3));
+            if (line.length() > 0) {
+                line.append(' ');
+            }
+            line.append("word").append(rank);
+            if ((i + 1) % wordsPerLine == 0) {
+                lines.add(line.toString());
+                line.setLength(0);
+            }
+        }
+        if (line.length() > 0) {
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+}
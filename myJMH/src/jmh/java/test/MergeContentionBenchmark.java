@@ -0,0 +1,69 @@
+package test;
+
+import com.chapter8.ConcurrentJoiningMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// every iteration is one fixed batch of merges per thread on fresh maps; concatenated values grow
+// with each merge, so an open-ended throughput run would turn the baselines quadratic
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(batchSize = MergeContentionBenchmark.MERGES_PER_THREAD)
+@Measurement(batchSize = MergeContentionBenchmark.MERGES_PER_THREAD)
+@Fork(value = 2, jvmArgs = {"-Xms4G", "-Xmx4G"})
+@Threads(16)
+public class MergeContentionBenchmark {
+    static final int MERGES_PER_THREAD = 1_000;
+    private static final String PHONE = "1111";
+
+    @Param({"16", "10000"})
+    private int keys;
+
+    private String[] names;
+    private ConcurrentJoiningMap<String> joiningMap;
+    private Map<String, String> hashMap;
+    private ConcurrentHashMap<String, String> concurrentHashMap;
+
+    @Setup(Level.Trial)
+    public void setUpNames() {
+        names = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            names[i] = "name" + i;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        joiningMap = new ConcurrentJoiningMap<>(" & ");
+        hashMap = new HashMap<>();
+        concurrentHashMap = new ConcurrentHashMap<>();
+    }
+
+    private String randomName() {
+        return names[ThreadLocalRandom.current().nextInt(names.length)];
+    }
+
+    @Benchmark
+    public void joiningMapMerge() {
+        joiningMap.merge(randomName(), PHONE);
+    }
+
+    @Benchmark
+    public void synchronizedHashMapMerge() {
+        String name = randomName();
+        synchronized (hashMap) {
+            hashMap.merge(name, PHONE, (phone1, phone2) -> phone1 + " & " + phone2);
+        }
+    }
+
+    @Benchmark
+    public void concurrentHashMapMerge() {
+        concurrentHashMap.merge(randomName(), PHONE, (phone1, phone2) -> phone1 + " & " + phone2);
+    }
+}
@@ -0,0 +1,77 @@
+package test;
+
+import com.chapter8.ConcurrentMultimap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// every iteration is one fixed batch of puts per thread on fresh maps, so the copy-on-write lists stay
+// bounded and the score is contention rather than heap growth
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(batchSize = MultimapContentionBenchmark.PUTS_PER_THREAD)
+@Measurement(batchSize = MultimapContentionBenchmark.PUTS_PER_THREAD)
+@Fork(value = 2, jvmArgs = {"-Xms4G", "-Xmx4G"})
+@Threads(16)
+public class MultimapContentionBenchmark {
+    static final int PUTS_PER_THREAD = 2_000;
+
+    @Param({"16", "10000"})
+    private int depts;
+
+    private String[] deptNames;
+    private ConcurrentMultimap<String, String> multimap;
+    private Map<String, List<String>> synchronizedMap;
+    private ConcurrentHashMap<String, List<String>> copyOnWriteMap;
+
+    @Setup(Level.Trial)
+    public void setUpNames() {
+        deptNames = new String[depts];
+        for (int i = 0; i < depts; i++) {
+            deptNames[i] = "dept" + i;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        multimap = new ConcurrentMultimap<>();
+        synchronizedMap = Collections.synchronizedMap(new HashMap<>());
+        copyOnWriteMap = new ConcurrentHashMap<>();
+    }
+
+    private String randomDept() {
+        return deptNames[ThreadLocalRandom.current().nextInt(deptNames.length)];
+    }
+
+    @Benchmark
+    public void concurrentMultimap() {
+        multimap.put(randomDept(), "Park");
+    }
+
+    @Benchmark
+    public void synchronizedHashMap() {
+        String dept = randomDept();
+        synchronized (synchronizedMap) {
+            List<String> members = synchronizedMap.get(dept);
+            if (members == null) {
+                members = new ArrayList<>();
+                synchronizedMap.put(dept, members);
+            }
+            members.add("Park");
+        }
+    }
+
+    @Benchmark
+    public void concurrentHashMapCopyOnWrite() {
+        copyOnWriteMap.computeIfAbsent(randomDept(), k -> new CopyOnWriteArrayList<>()).add("Park");
+    }
+}
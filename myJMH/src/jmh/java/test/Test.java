@@ -1,6 +1,7 @@
 package test;
 
 import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
 
 import java.util.concurrent.TimeUnit;
 import java.util.stream.LongStream;
@@ -11,45 +12,47 @@ import java.util.stream.Stream;
 @OutputTimeUnit(TimeUnit.MILLISECONDS)
 @Fork(value = 2, jvmArgs = {"-Xms4G", "-Xmx4G"})
 public class Test {
-    private static final long N = 10_000_000L;
-
-//    @Benchmark
-//    public long sequentialSum() {
-//        return Stream.iterate(1L, i -> i + 1).limit(N)
-//                .reduce(0L, Long::sum);
-//    }
-//
-//    @Benchmark
-//    public long parallelSum() {
-//        return Stream.iterate(1L, i -> i + 1).limit(N)
-//                .parallel()
-//                .reduce(0L, Long::sum);
-//    }
-//
-//    @Benchmark
-//    public long iterativeSum() {
-//        long result = 0;
-//        for (long i = 0; i <= N; i++) {
-//            result += i;
-//        }
-//        return result;
-//    }
+    @Param({"1000000", "10000000"})
+    private long n;
 
     @Benchmark
-    public long rangedSum() {
-        return LongStream.rangeClosed(1, N)
-                .reduce(0L, Long::sum);
+    public void sequentialSum(Blackhole bh) {
+        bh.consume(Stream.iterate(1L, i -> i + 1).limit(n)
+                .reduce(0L, Long::sum));
     }
 
-//    @Benchmark
-//    public long parallelRangedSum() {
-//        return LongStream.rangeClosed(1, N)
-//                .parallel()
-//                .reduce(0L, Long::sum);
-//    }
+    @Benchmark
+    public void parallelSum(Blackhole bh) {
+        bh.consume(Stream.iterate(1L, i -> i + 1).limit(n)
+                .parallel()
+                .reduce(0L, Long::sum));
+    }
+
+    @Benchmark
+    public void iterativeSum(Blackhole bh) {
+        long result = 0;
+        for (long i = 0; i <= n; i++) {
+            result += i;
+        }
+        bh.consume(result);
+    }
+
+    @Benchmark
+    public void rangedSum(Blackhole bh) {
+        bh.consume(LongStream.rangeClosed(1, n)
+                .reduce(0L, Long::sum));
+    }
+
+    @Benchmark
+    public void parallelRangedSum(Blackhole bh) {
+        bh.consume(LongStream.rangeClosed(1, n)
+                .parallel()
+                .reduce(0L, Long::sum));
+    }
 
-    @TearDown(Level.Invocation)
-    public void tearDown() {
+    // collect garbage left by the previous iteration outside the measured window
+    @Setup(Level.Iteration)
+    public void setUp() {
         System.gc();
     }
 }
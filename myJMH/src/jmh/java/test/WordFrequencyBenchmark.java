@@ -0,0 +1,63 @@
+package test;
+
+import com.chapter5.WordCountMap;
+import com.chapter5.WordFrequency;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 2, jvmArgs = {"-Xms4G", "-Xmx4G"})
+public class WordFrequencyBenchmark {
+    private static final int WORDS_PER_DOCUMENT = 5_000;
+
+    @Param({"100", "2000"})
+    private int documents;
+
+    private List<String> corpus;
+
+    // half English, half Hangul syllable words drawn from a skewed vocabulary
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        corpus = new ArrayList<>(documents);
+        StringBuilder document = new StringBuilder();
+        for (int d = 0; d < documents; d++) {
+            document.setLength(0);
+            for (int w = 0; w < WORDS_PER_DOCUMENT; w++) {
+                int rank = (int) (20_000 * Math.pow(random.nextDouble(), 3));
+                if (rank % 2 == 0) {
+                    document.append("Word").append(rank);
+                } else {
+                    document.append((char) (0xAC00 + rank % 11172)).append((char) (0xAC00 + rank / 11172));
+                }
+                document.append(w % 12 == 11 ? ".\n" : " ");
+            }
+            corpus.add(document.toString());
+        }
+    }
+
+    @Benchmark
+    public List<Map.Entry<String, Integer>> primitiveMapTopTerms() {
+        WordCountMap counts = WordFrequency.count(corpus);
+        return WordFrequency.topTerms(counts, 20);
+    }
+
+    @Benchmark
+    public Map<String, Long> groupingByCounting() {
+        return corpus.parallelStream()
+                .flatMap(text -> Arrays.stream(text.split("[^\\p{L}\\p{Nd}]+")))
+                .filter(word -> !word.isEmpty())
+                .map(String::toLowerCase)
+                .collect(Collectors.groupingByConcurrent(Function.identity(), Collectors.counting()));
+    }
+}